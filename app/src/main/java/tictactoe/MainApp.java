@@ -1,5 +1,6 @@
 package tictactoe;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Application;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
@@ -21,119 +22,20 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.stage.Stage;
 
-import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.function.Consumer;
 
-/**
- * TicTacToe Cell Mark
- */
-enum Mark {
-    EMPTY,
-    CIRCLE,
-    CROSS
-}
-
-/**
- * State of the TicTacToe Game
- */
-enum GameState {
-    ONGOING,
-    WIN,
-    DRAW
-}
-
-/**
- * Mode of the TicTacToe Game
- */
-enum GameMode {
-    NOT_STARTED, // Game Not Started
-    PVP, // Player vs Player
-    PVC_HUMAN_FIRST, // Player vs Computer (Human start first)
-    PVC_COMPUTER_FIRST, // Player vs Computer (Computer start first)
-}
-
-/**
- * Represent a move on board.
- * Row and column are used to identify a position on board.
- * Row and column CANNOT be changed after initialization. (final)
- */
-class Move {
-    public static final int ROWS = 3;
-    public static final int COLUMNS = 3;
-    public final int row;
-    public final int column;
-    public int score; // score of the move (optional)
-
-    public Move(int row, int column) {
-        this.row = row;
-        this.column = column;
-    }
-
-    public Move(int row, int column, int score) {
-        this(row, column);
-        setScore(score);
-    }
-
-    public void setScore(int score) {
-        this.score = score;
-    }
-
-    /**
-     * Convert move's 2d position to 1d position
-     */
-    public int toIndex() {
-        return row * ROWS + column;
-    }
-
-    @Override
-    public String toString() {
-        return String.format("(%d,%d) with score %d", row, column, score);
-    }
-}
-
-/**
- * Represents the difficulty level of the Computer Player. Each GameLevel
- * corresponding to a minimax depth.
- */
-class GameLevel {
-    public static final String[] LEVELS = { "Easy", "Medium", "Hard" };
-
-    public static final GameLevel EASY = new GameLevel(3);
-    public static final GameLevel MEDIUM = new GameLevel(5);
-    public static final GameLevel HARD = new GameLevel(8);
-
-    public final int depth;
-
-    public GameLevel(int depth) {
-        this.depth = depth;
-    }
-
-    /**
-     * Static factory method to return a GameLevel instance from a level string.
-     * To encapsulate object creation from a string level.
-     */
-    public static GameLevel createGameLevel(String level) {
-        switch (level) {
-            case "Easy":
-                return EASY;
-            case "Medium":
-                return MEDIUM;
-            default:
-                return HARD;
-        }
-    }
-
-    public int getDepth() {
-        return depth;
-    }
-}
-
 /**
  * GUI of a TicTacToe Cell.
  * It stores it's positon as Move and it's mark
  */
 class TicTacToeCell extends Button {
     private static final int SIZE = 100;
+    // indicator borders are immutable, so they are shared by all cells
+    private static final Border LOSE_BORDER = createIndicatorBorder(Color.RED);
+    private static final Border WIN_BORDER = createIndicatorBorder(Color.GREEN);
+    private static final Border DRAW_BORDER = createIndicatorBorder(Color.ORANGE);
     private Mark mark;
     private Move move;
 
@@ -165,21 +67,26 @@ class TicTacToeCell extends Button {
 
     /** Show an border indicator of the cell */
     public void showScoreIndicator(int score) {
-        Color indicatorColor;
+        Border border;
         // if user lost
         if (score < 0) {
-            indicatorColor = Color.RED;
+            border = LOSE_BORDER;
             // if user win
         } else if (score > 0) {
-            indicatorColor = Color.GREEN;
+            border = WIN_BORDER;
             // if ongoing / draw
         } else {
-            indicatorColor = Color.ORANGE;
+            border = DRAW_BORDER;
         }
+        // skip the relayout if the indicator is unchanged
+        if (getBorder() != border)
+            setBorder(border);
+    }
+
+    private static Border createIndicatorBorder(Color indicatorColor) {
         BorderStroke borderStroke = new BorderStroke(indicatorColor, BorderStrokeStyle.SOLID, CornerRadii.EMPTY,
                 BorderWidths.DEFAULT);
-        Border border = new Border(borderStroke);
-        setBorder(border);
+        return new Border(borderStroke);
     }
 
     public void hideScoreIndicator() {
@@ -204,6 +111,59 @@ class TicTacToeCell extends Button {
     }
 }
 
+/**
+ * Coalescing queue of move scores from an evaluation thread to the FX thread.
+ * Only the latest score of each cell is kept, and pending scores are shown at
+ * most once per UPDATE_INTERVAL, so a fast evaluation never floods the FX
+ * thread.
+ */
+class ScoreIndicatorUpdater extends AnimationTimer {
+    private static final long UPDATE_INTERVAL = 50_000_000; // in nanoseconds
+    private static final int NO_SCORE = Integer.MIN_VALUE;
+    private final TicTacToeCell[] cells;
+    private final AtomicIntegerArray pendingScores;
+    private final AtomicBoolean hasPending = new AtomicBoolean();
+    private volatile boolean finished;
+    private long lastUpdate;
+
+    public ScoreIndicatorUpdater(TicTacToeCell[] cells) {
+        this.cells = cells;
+        pendingScores = new AtomicIntegerArray(cells.length);
+        for (int i = 0; i < cells.length; i++)
+            pendingScores.set(i, NO_SCORE);
+    }
+
+    /** Queue the score of a move, can be called from any thread */
+    public void publish(Move move) {
+        pendingScores.set(move.toIndex(), move.score);
+        hasPending.set(true);
+    }
+
+    /** Notify that no more score will be published, can be called from any thread */
+    public void finish() {
+        finished = true;
+    }
+
+    /** Show the pending scores on the FX thread, called on every frame */
+    @Override
+    public void handle(long now) {
+        if (now - lastUpdate < UPDATE_INTERVAL)
+            return;
+        // read before draining, all scores are published before finishing
+        boolean isFinished = finished;
+        if (hasPending.getAndSet(false)) {
+            lastUpdate = now;
+            for (int i = 0; i < cells.length; i++) {
+                int score = pendingScores.getAndSet(i, NO_SCORE);
+                if (score != NO_SCORE)
+                    cells[i].showScoreIndicator(score);
+            }
+        }
+        if (isFinished)
+            stop();
+    }
+}
+
 /**
  * The GUI of the TicTacToe Game.
  * It has mainly 2 scenes:
@@ -219,6 +179,8 @@ public class MainApp extends Application {
     private Label banner;
     private TicTacToeCell buttons[];
     private HBox gameEndButtonBox;
+    private Thread evaluationThread;
+    private ScoreIndicatorUpdater scoreUpdater;
     // Game items
     private TicTacToeGame game;
     private GameMode gameMode;
@@ -329,6 +291,8 @@ public class MainApp extends Application {
         restartButton.setOnAction(event -> restart());
         backButton.setOnAction(event -> {
             resetButtons();
+            // stop painting scores on the hidden board
+            resetEvaluation();
             switchScene(GameMode.NOT_STARTED);
         });
         evalButton.setOnAction(event -> evaluateMoves());
@@ -407,19 +371,42 @@ public class MainApp extends Application {
         disableButtons();
     }
 
-    /** Evalaute all possible moves */
+    /**
+     * Evalaute all possible moves on another thread.
+     * Scores are shown as soon as they are available and refined as the
+     * evaluation goes deeper.
+     */
     private void evaluateMoves() {
         // disable evalaution after game ended
         if (gameState != GameState.ONGOING)
             return;
-        List<Move> moves = game.evaluateMoves();
-        for (Move move : moves) {
-            TicTacToeCell button = buttons[move.toIndex()];
-            button.showScoreIndicator(move.score);
+        cancelEvaluation();
+        ScoreIndicatorUpdater updater = new ScoreIndicatorUpdater(buttons);
+        Runnable task = game.createEvaluationTask(updater::publish);
+        evaluationThread = new Thread(() -> {
+            task.run();
+            updater.finish();
+        }, "evaluator");
+        evaluationThread.setDaemon(true);
+        scoreUpdater = updater;
+        updater.start();
+        evaluationThread.start();
+    }
+
+    /** Stop the running evaluation if any, its pending scores are discarded */
+    private void cancelEvaluation() {
+        if (evaluationThread != null) {
+            evaluationThread.interrupt();
+            evaluationThread = null;
+        }
+        if (scoreUpdater != null) {
+            scoreUpdater.stop();
+            scoreUpdater = null;
         }
     }
 
     private void resetEvaluation() {
+        cancelEvaluation();
         for (TicTacToeCell button : buttons) {
             button.hideScoreIndicator();
         }
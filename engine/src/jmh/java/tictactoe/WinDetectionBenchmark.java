@@ -0,0 +1,74 @@
+package tictactoe;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compare terminal state detection of many positions: one snapshot at a time
+ * (hasWinner / isDraw), the scalar batch loop and the vector kernel.
+ * Run with ./gradlew jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinDetectionBenchmark {
+    @Param({ "1024", "65536" })
+    private int count;
+
+    private int[] positions;
+    private int[] results;
+
+    /** Create random legal positions by playing random games of random length */
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        positions = new int[count];
+        results = new int[count];
+        for (int i = 0; i < count; i++) {
+            Board board = new Board();
+            Mark mark = Mark.CIRCLE;
+            int length = random.nextInt(10);
+            while (length-- > 0 && board.getState() == GameState.ONGOING) {
+                List<Move> moves = board.getPossibleMoves();
+                board.move(moves.get(random.nextInt(moves.size())), mark);
+                mark = mark == Mark.CIRCLE ? Mark.CROSS : Mark.CIRCLE;
+            }
+            positions[i] = board.snapshot().toBits();
+        }
+    }
+
+    @Benchmark
+    public void snapshot(Blackhole blackhole) {
+        for (int position : positions)
+            blackhole.consume(new BoardSnapshot(position).getState());
+    }
+
+    @Benchmark
+    public int[] batchScalar() {
+        BatchWinDetector.detectScalar(positions, results, 0, count);
+        return results;
+    }
+
+    @Benchmark
+    public int[] batchVector() {
+        BatchWinDetector.detect(positions, results, count);
+        return results;
+    }
+}
@@ -0,0 +1,82 @@
+package tictactoe;
+
+/**
+ * Detect the terminal state of many positions at once.
+ * Positions are given in the packed form of BoardSnapshot.toBits. The vector
+ * kernel (see VectorWinKernel) is used when the jdk.incubator.vector module is
+ * available (--add-modules jdk.incubator.vector, e.g. ./gradlew perft -Pvector),
+ * otherwise a scalar loop.
+ */
+public final class BatchWinDetector {
+    /* Result flags of a position */
+    public static final int ONGOING = 0;
+    public static final int CIRCLE_WINS = 1;
+    public static final int CROSS_WINS = 2;
+    public static final int DRAW = 4;
+
+    /* Vector kernel, null if the module is absent or -Dtictactoe.vector=false */
+    private static final Kernel KERNEL = loadKernel();
+
+    /* Whether the vector kernel is used */
+    public static final boolean VECTORIZED = KERNEL != null;
+
+    /** Batch detection of a kernel, see detect */
+    interface Kernel {
+        void detect(int[] positions, int[] results, int count);
+    }
+
+    private BatchWinDetector() {
+    }
+
+    /*
+     * Load the kernel by name, as it is compiled separately with the incubating
+     * module and can't be referenced from the main sources
+     */
+    private static Kernel loadKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()
+                || "false".equals(System.getProperty("tictactoe.vector")))
+            return null;
+        try {
+            return (Kernel) Class.forName("tictactoe.VectorWinKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write the result flags of the first count positions into results.
+     * A position with a complete line of both marks is reported as a circle win.
+     */
+    public static void detect(int[] positions, int[] results, int count) {
+        if (KERNEL != null)
+            KERNEL.detect(positions, results, count);
+        else
+            detectScalar(positions, results, 0, count);
+    }
+
+    /** Scalar version of detect for the positions from start (inclusive) to end (exclusive) */
+    static void detectScalar(int[] positions, int[] results, int start, int end) {
+        for (int i = start; i < end; i++)
+            results[i] = detect(positions[i]);
+    }
+
+    /** Return the result flags of a single position */
+    public static int detect(int position) {
+        if (BoardSnapshot.hasLine(position & BoardSnapshot.FULL))
+            return CIRCLE_WINS;
+        if (BoardSnapshot.hasLine(position >>> 9))
+            return CROSS_WINS;
+        if (((position | position >>> 9) & BoardSnapshot.FULL) == BoardSnapshot.FULL)
+            return DRAW;
+        return ONGOING;
+    }
+
+    /** Return the winner's mark of result flags, or null if there is no winner */
+    public static Mark winnerOf(int result) {
+        if (result == CIRCLE_WINS)
+            return Mark.CIRCLE;
+        if (result == CROSS_WINS)
+            return Mark.CROSS;
+        return null;
+    }
+}
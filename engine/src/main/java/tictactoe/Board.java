@@ -1,18 +1,43 @@
 package tictactoe;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Board of the game
  */
 public class Board {
+    /* Number of winning lines (3 rows, 3 columns and 2 diagonals) */
+    private static final int LINES = 8;
+
+    /*
+     * Indices of the lines passing through each grid (row * 3 + column).
+     * 0-2: rows, 3-5: columns, 6: diagonal \, 7: diagonal /
+     */
+    private static final int LINES_OF[][] = {
+            { 0, 3, 6 }, { 0, 4 }, { 0, 5, 7 },
+            { 1, 3 }, { 1, 4, 6, 7 }, { 1, 5 },
+            { 2, 3, 7 }, { 2, 4 }, { 2, 5, 6 },
+    };
+
     private Mark board[][];
 
+    private int moveCount; // number of marks placed on the board
+
+    private int lineCounts[][]; // number of marks of each player on each line
+
+    private Mark winner; // winner's mark, null if there is no winner yet
+
+    // packed marks for snapshots (see BoardSnapshot), volatile for concurrent readers
+    private volatile int bits;
+
     /* Constructor: create and initialize the 2D array */
     public Board() {
         // initialize board sizes
         board = new Mark[3][3];
+        // [0]: circle, [1]: cross
+        lineCounts = new int[2][LINES];
         // initialize grids
         initGrids();
     }
@@ -53,67 +78,34 @@ public class Board {
      * null
      */
     public Mark hasWinner() {
-        // check for diagonal \
-        Mark currentMark = board[0][0]; // set entry #7 as current mark for diag \ checking
-        // if has mark on #7, then check diag
-        if (currentMark != Mark.EMPTY) {
-            boolean win = currentMark == board[1][1] && currentMark == board[2][2]; // check if #7 == #5 == #3
-            if (win)
-                return currentMark;
-        }
-        // check for diagonal /
-        currentMark = board[0][2]; // set entry #9 as current mark for diag / checking
-        // if has mark on #9, then check diag
-        if (currentMark != Mark.EMPTY) {
-            boolean win = currentMark == board[1][1] && currentMark == board[2][0]; // check if #9 == #5 == #1
-            if (win)
-                return currentMark;
-        }
-        // check for horizontal and vertical
-        for (int i = 0; i < 3; i++) {
-            // check a horizontal row
-            currentMark = board[i][0];
-            if (currentMark != Mark.EMPTY) {
-                // check if same row has same marking
-                boolean win = currentMark == board[i][1] && currentMark == board[i][2];
-                if (win)
-                    return currentMark;
-            }
-            // check a vertical column
-            currentMark = board[0][i];
-            if (currentMark != Mark.EMPTY) {
-                // check if same column has same marking
-                boolean win = currentMark == board[1][i] && currentMark == board[2][i];
-                if (win)
-                    return currentMark;
-            }
-        }
-        return null;
+        return winner;
     }
 
     /* Return true if the board is full, otherwise return false */
     public boolean isDraw() {
-        // check for any empty space in board, if no then it's draw
-        for (int i = 0; i < 3; i++) {
-            for (int j = 0; j < 3; j++) {
-                // if has any empty space (0) then it's not draw
-                if (board[i][j] == Mark.EMPTY)
-                    return false;
-            }
-        }
-        return true;
+        return moveCount == 9;
     }
 
     /*
      * Place the mark on the given location, return true if the location was empty
-     * before placing, otherwise return false
+     * before placing, otherwise return false (also for an EMPTY mark, which is not
+     * a move)
      */
     public boolean move(int row, int column, Mark mark) {
         // if the location is not empty (0) then return false
-        if (!canMove(row, column))
+        if (mark == Mark.EMPTY || !canMove(row, column))
             return false;
         // place mark on the given location
         board[row][column] = mark;
+        bits |= BoardSnapshot.bitOf(row * 3 + column, mark);
+        moveCount++;
+        // update the lines passing through the location
+        int[] counts = lineCounts[mark == Mark.CIRCLE ? 0 : 1];
+        for (int line : linesOf(row, column)) {
+            // the mover wins if the line is completed
+            if (++counts[line] == 3)
+                winner = mark;
+        }
         return true;
     }
 
@@ -123,15 +115,50 @@ public class Board {
     }
 
     public void undoMove(Move move) {
+        Mark mark = board[move.row][move.column];
+        // skip if nothing to undo
+        if (mark == Mark.EMPTY)
+            return;
         board[move.row][move.column] = Mark.EMPTY;
+        bits &= ~BoardSnapshot.bitOf(move.row * 3 + move.column, mark);
+        moveCount--;
+        int[] counts = lineCounts[mark == Mark.CIRCLE ? 0 : 1];
+        for (int line : linesOf(move.row, move.column))
+            counts[line]--;
+        // the winner may be gone if the removed mark completed a line
+        if (winner == mark)
+            winner = findWinner(counts) ? mark : null;
+    }
+
+    /* Return true if any line is completed according to the given line counts */
+    private static boolean findWinner(int[] counts) {
+        for (int count : counts) {
+            if (count == 3)
+                return true;
+        }
+        return false;
+    }
+
+    /* Return the indices of the lines passing through the location */
+    private static int[] linesOf(int row, int column) {
+        return LINES_OF[row * 3 + column];
     }
 
     public boolean canMove(int row, int column) {
         return board[row][column] == Mark.EMPTY;
     }
 
+    /**
+     * Return an immutable snapshot of the current board.
+     * Safe to call from any thread while the game is being played.
+     */
+    public BoardSnapshot snapshot() {
+        return new BoardSnapshot(bits);
+    }
+
+    /* Return the state of the game, tracked incrementally in move and undoMove */
     public GameState getState() {
-        if (hasWinner() != null)
+        if (winner != null)
             return GameState.WIN;
         if (isDraw())
             return GameState.DRAW;
@@ -145,6 +172,12 @@ public class Board {
                 board[i][j] = Mark.EMPTY;
             }
         }
+        // reset the tracked state
+        moveCount = 0;
+        winner = null;
+        bits = 0;
+        for (int[] counts : lineCounts)
+            Arrays.fill(counts, 0);
     }
 
     public List<Move> getPossibleMoves() {
@@ -0,0 +1,166 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a board.
+ * Marks of both players are packed into a single int (bit i: circle on grid i,
+ * bit i + 9: cross on grid i, where i = row * 3 + column), so a snapshot is
+ * cheap to create and can be shared between threads without locks or copies.
+ */
+public final class BoardSnapshot {
+    public static final BoardSnapshot EMPTY = new BoardSnapshot(0);
+
+    /* Bits of all 9 grids of a player */
+    static final int FULL = 0x1FF;
+
+    /* Bits of the winning lines: 3 rows, 3 columns and 2 diagonals */
+    static final int[] WIN_MASKS = { 0x007, 0x038, 0x1C0, 0x049, 0x092, 0x124, 0x111, 0x054 };
+
+    private final int bits;
+
+    BoardSnapshot(int bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Create a snapshot from a string of 9 characters in row order (as returned by
+     * toString): 'O' for circle, 'X' for cross and any other character for empty
+     */
+    public static BoardSnapshot parse(String grids) {
+        if (grids.length() != 9)
+            throw new IllegalArgumentException("Board must have 9 grids: " + grids);
+        int bits = 0;
+        for (int i = 0; i < 9; i++) {
+            char symbol = Character.toUpperCase(grids.charAt(i));
+            if (symbol == 'O')
+                bits |= bitOf(i, Mark.CIRCLE);
+            else if (symbol == 'X')
+                bits |= bitOf(i, Mark.CROSS);
+        }
+        return new BoardSnapshot(bits);
+    }
+
+    /** Return the packed representation of the snapshot */
+    public int toBits() {
+        return bits;
+    }
+
+    /** Return a new snapshot with the mark placed on the move position */
+    public BoardSnapshot with(Move move, Mark mark) {
+        return with(move.toIndex(), mark);
+    }
+
+    /** Function overload of with by grid index (row * 3 + column) */
+    public BoardSnapshot with(int index, Mark mark) {
+        return new BoardSnapshot(bits | bitOf(index, mark));
+    }
+
+    /** Return the mark on the given location */
+    public Mark get(int row, int column) {
+        int index = row * 3 + column;
+        if ((bits & (1 << index)) != 0)
+            return Mark.CIRCLE;
+        if ((bits & (1 << (index + 9))) != 0)
+            return Mark.CROSS;
+        return Mark.EMPTY;
+    }
+
+    public boolean canMove(int row, int column) {
+        return (getEmptyBits() & (1 << (row * 3 + column))) != 0;
+    }
+
+    /** Return the bits of the empty grids */
+    public int getEmptyBits() {
+        return ~(bits | bits >>> 9) & FULL;
+    }
+
+    /** Return the bits of the grids occupied by the mark */
+    public int getBits(Mark mark) {
+        return mark == Mark.CIRCLE ? bits & FULL : bits >>> 9;
+    }
+
+    public int getMoveCount() {
+        return Integer.bitCount(bits);
+    }
+
+    /*
+     * Return the winner's mark if there is a winner in the game, otherwise return
+     * null
+     */
+    public Mark hasWinner() {
+        if (hasLine(bits & FULL))
+            return Mark.CIRCLE;
+        if (hasLine(bits >>> 9))
+            return Mark.CROSS;
+        return null;
+    }
+
+    /* Return true if the board is full, otherwise return false */
+    public boolean isDraw() {
+        return getEmptyBits() == 0;
+    }
+
+    public GameState getState() {
+        if (hasWinner() != null)
+            return GameState.WIN;
+        if (isDraw())
+            return GameState.DRAW;
+        return GameState.ONGOING;
+    }
+
+    public List<Move> getPossibleMoves() {
+        List<Move> moves = new ArrayList<>();
+        for (int empty = getEmptyBits(); empty != 0; empty &= empty - 1) {
+            int index = Integer.numberOfTrailingZeros(empty);
+            moves.add(new Move(index / 3, index % 3));
+        }
+        return moves;
+    }
+
+    /** Return true if the player bits contain a complete line */
+    static boolean hasLine(int playerBits) {
+        for (int mask : WIN_MASKS) {
+            if ((playerBits & mask) == mask)
+                return true;
+        }
+        return false;
+    }
+
+    /** Return the packed bit of a mark on the grid index */
+    static int bitOf(int index, Mark mark) {
+        return mark == Mark.CIRCLE ? 1 << index : 1 << (index + 9);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BoardSnapshot && ((BoardSnapshot) other).bits == bits;
+    }
+
+    @Override
+    public int hashCode() {
+        return bits;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(9);
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                switch (get(i, j)) {
+                    case CIRCLE:
+                        builder.append('O');
+                        break;
+                    case CROSS:
+                        builder.append('X');
+                        break;
+                    default:
+                        builder.append('.');
+                        break;
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
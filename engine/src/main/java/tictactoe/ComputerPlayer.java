@@ -0,0 +1,300 @@
+package tictactoe;
+
+import java.util.function.Consumer;
+
+/**
+ * Computer Player of TicTacToe - Minimax with Alpha–beta pruning is used here.
+ * Alpha: best score for AI player so far
+ * Beta: best score for opponent so far
+ */
+public class ComputerPlayer extends Player {
+    protected static final int DEFAULT_MAX_DEPTH = 8;
+    protected Mark opponentMark;
+    protected int maxDepth = DEFAULT_MAX_DEPTH;
+    protected TranspositionTable table = TranspositionTable.getShared(); // null to disable
+    protected RootResultCache resultCache = RootResultCache.getShared(); // null to disable
+    protected ProofNumberSolver solver; // null to disable
+    private long nodeCount; // number of positions visited by minimax
+
+    /** Constructor without explicit depth selection (i.e. use default depth) */
+    public ComputerPlayer(Mark mark) {
+        super("AI", mark);
+        opponentMark = mark == Mark.CIRCLE ? Mark.CROSS : Mark.CIRCLE;
+    }
+
+    /** Constructor with explicit depth selection */
+    public ComputerPlayer(Mark mark, int maxDepth) {
+        this(mark);
+        this.maxDepth = maxDepth;
+    }
+
+    /** Constructor with explicit level selection */
+    public ComputerPlayer(Mark mark, GameLevel level) {
+        this(mark, level == null ? GameLevel.HARD.depth : level.getDepth());
+    }
+
+    @Override
+    public void setMark(Mark mark) {
+        this.mark = mark;
+        opponentMark = mark == Mark.CIRCLE ? Mark.CROSS : Mark.CIRCLE;
+    }
+
+    /** Allow user to change level */
+    public void setLevel(GameLevel level) {
+        this.maxDepth = level.depth;
+    }
+
+    /** Use another transposition table, e.g. a private one, or null to disable it */
+    public void setTranspositionTable(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /** Use another root result cache, or null to disable it */
+    public void setResultCache(RootResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Use a proof-number solver to prove forced wins beyond the max depth, or null
+     * to disable it (the default). It is only run when the max depth is below the
+     * number of empty grids: a proven win is played without searching, and moves
+     * proven to win get a score of 1 even if the win is beyond the max depth.
+     */
+    public void setSolver(ProofNumberSolver solver) {
+        this.solver = solver;
+    }
+
+    /** Returns the number of positions visited by minimax since the last reset */
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    public void resetNodeCount() {
+        nodeCount = 0;
+    }
+
+    /** Returns the "best" move given a board */
+    public Move getMove(Board board) {
+        // search on a snapshot so that the live board is never mutated
+        return getMove(board.snapshot());
+    }
+
+    /** Function overload of getMove with a board snapshot */
+    public Move getMove(BoardSnapshot board) {
+        // play a proven forced win instead of searching
+        if (usesSolver(board)) {
+            MnkBoard mnkBoard = MnkBoard.of(board);
+            if (mnkBoard.getSideToMove() == mark && solver.solve(mnkBoard) == ProofNumberSolver.Result.PROVEN) {
+                int index = solver.getWinningMove();
+                return new Move(index / 3, index % 3);
+            }
+        }
+        int[] scores = scoreMoves(board);
+        // for all possible moves
+        int score;
+        int bestScore = Integer.MIN_VALUE;
+        Move bestMove = null;
+        for (Move move : board.getPossibleMoves()) {
+            score = scores[move.toIndex()];
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+            }
+        }
+        return bestMove;
+    }
+
+    /**
+     * Returns the scores of all possible moves indexed by grid (row * 3 + column),
+     * reusing the result of the same position searched before if cached
+     */
+    protected int[] scoreMoves(BoardSnapshot board) {
+        // solver scores can differ from a plain search, don't share them
+        boolean useCache = resultCache != null && !usesSolver(board);
+        if (useCache) {
+            int[] scores = resultCache.get(board, mark, maxDepth);
+            if (scores != null)
+                return scores;
+        }
+        int[] scores = searchMoves(board, null);
+        if (useCache)
+            resultCache.put(board, mark, maxDepth, scores);
+        return scores;
+    }
+
+    /**
+     * Search all possible moves at the current max depth and returns their scores
+     * indexed by grid. If a listener is given, each move is published with its
+     * score as soon as it's searched, and the search stops (returning null) when
+     * the thread is interrupted.
+     */
+    protected int[] searchMoves(BoardSnapshot board, Consumer<Move> listener) {
+        int[] scores = new int[9];
+        for (Move move : board.getPossibleMoves()) {
+            if (listener != null && Thread.currentThread().isInterrupted())
+                return null;
+            // evaluate the move's score
+            BoardSnapshot child = board.with(move, mark);
+            int score = isProvenWin(child) ? 1
+                    : minimax(child, 0, false, Integer.MIN_VALUE, Integer.MAX_VALUE);
+            scores[move.toIndex()] = score;
+            if (listener != null) {
+                move.setScore(score);
+                listener.accept(move);
+            }
+        }
+        return scores;
+    }
+
+    /*
+     * Return true if the solver is set and can find a win beyond the max depth,
+     * i.e. the search can't reach all the empty grids of the board
+     */
+    protected boolean usesSolver(BoardSnapshot board) {
+        return solver != null && maxDepth < Integer.bitCount(board.getEmptyBits());
+    }
+
+    /* Return true if the solver proves a forced win of the AI player after its move */
+    private boolean isProvenWin(BoardSnapshot board) {
+        if (!usesSolver(board))
+            return false;
+        MnkBoard mnkBoard = MnkBoard.of(board);
+        // the solver infers the side to move, circle playing first
+        return mnkBoard.getSideToMove() == opponentMark
+                && solver.solve(mnkBoard, mark) == ProofNumberSolver.Result.PROVEN;
+    }
+
+    /**
+     * Minimax with Alpha–beta pruning algorithm (Recursion).
+     * Results are shared through the transposition table, stored relative to the
+     * side to move so that players of both marks can reuse them. An entry is only
+     * reused at the same effective depth (remaining depth capped by the number of
+     * empty grids), which keeps the result of each level identical to a search
+     * without the table.
+     */
+    public int minimax(BoardSnapshot board, int depth, boolean isMyMove, int alpha, int beta) {
+        nodeCount++;
+        // base cases: reached end (i.e. has winner or draw) or reached max depth
+        Mark winner = board.hasWinner();
+        if (winner != null)
+            return evaluate(winner);
+        if (depth == maxDepth || board.isDraw())
+            return 0;
+        // look up the position in the transposition table
+        Mark sideToMove = isMyMove ? mark : opponentMark;
+        int searchDepth = Math.min(maxDepth - depth, 9 - board.getMoveCount());
+        long key = 0;
+        int tableMove = TranspositionTable.NO_MOVE;
+        if (table != null) {
+            key = TranspositionTable.key(board, sideToMove);
+            long entry = table.probe(key);
+            if (entry != TranspositionTable.MISS) {
+                tableMove = TranspositionTable.bestMove(entry);
+                if (TranspositionTable.depth(entry) == searchDepth) {
+                    int tableScore = toMyScore(TranspositionTable.score(entry), isMyMove);
+                    int bound = toMyBound(TranspositionTable.bound(entry), isMyMove);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && tableScore >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && tableScore <= alpha))
+                        return tableScore;
+                }
+            }
+        }
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        // search the best move found before first, then the other empty grids
+        int moves = board.getEmptyBits();
+        int bestMove = TranspositionTable.NO_MOVE;
+        int score;
+        int resultScore;
+        // maximize the score of AI player
+        if (isMyMove) {
+            int bestScore = Integer.MIN_VALUE;
+            while (moves != 0) {
+                int move = nextMove(moves, tableMove);
+                moves &= ~(1 << move);
+                score = minimax(board.with(move, mark), depth + 1, false, alpha, beta);
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = move;
+                }
+                alpha = Math.max(alpha, bestScore);
+                // if a>b: remaining moves can't have better result
+                if (alpha >= beta)
+                    break;
+            }
+            resultScore = bestScore;
+            // minimize the score of human player
+        } else {
+            int worstScore = Integer.MAX_VALUE;
+            while (moves != 0) {
+                int move = nextMove(moves, tableMove);
+                moves &= ~(1 << move);
+                score = minimax(board.with(move, opponentMark), depth + 1, true, alpha, beta);
+                if (score < worstScore) {
+                    worstScore = score;
+                    bestMove = move;
+                }
+                beta = Math.min(beta, worstScore);
+                if (beta <= alpha)
+                    break;
+            }
+            resultScore = worstScore;
+        }
+        if (table != null) {
+            int bound;
+            if (resultScore <= originalAlpha)
+                bound = TranspositionTable.UPPER_BOUND;
+            else if (resultScore >= originalBeta)
+                bound = TranspositionTable.LOWER_BOUND;
+            else
+                bound = TranspositionTable.EXACT;
+            table.store(key, toMyScore(resultScore, isMyMove), toMyBound(bound, isMyMove), searchDepth, bestMove);
+        }
+        return resultScore;
+    }
+
+    /** Return the grid index of the next move to search, preferring the table move */
+    private static int nextMove(int moves, int tableMove) {
+        if (tableMove != TranspositionTable.NO_MOVE && (moves & (1 << tableMove)) != 0)
+            return tableMove;
+        return Integer.numberOfTrailingZeros(moves);
+    }
+
+    /*
+     * Convert a score between the side to move and the AI player. Negation is its
+     * own inverse, so this works in both directions.
+     */
+    private static int toMyScore(int score, boolean isMyMove) {
+        return isMyMove ? score : -score;
+    }
+
+    /* Convert a bound between the side to move and the AI player */
+    private static int toMyBound(int bound, boolean isMyMove) {
+        if (isMyMove || bound == TranspositionTable.EXACT)
+            return bound;
+        return bound == TranspositionTable.LOWER_BOUND ? TranspositionTable.UPPER_BOUND
+                : TranspositionTable.LOWER_BOUND;
+    }
+
+    /**
+     * Get a score of the board. (1 meaning AI won, -1 means opponent won, 0 means
+     * draw / not ended)
+     */
+    public int evaluate(BoardSnapshot board) {
+        return evaluate(board.hasWinner());
+    }
+
+    /** Function overload of evaluate with the winner's mark, null if there is no winner */
+    public int evaluate(Mark winner) {
+        // if draw or no winner, return 0
+        if (winner == null)
+            return 0;
+        // if AI won, return 1
+        if (winner == this.mark)
+            return 1;
+        // if player won, return -1
+        return -1;
+    }
+
+}
@@ -0,0 +1,60 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * Command line entry point of the engine, for batch and server use without any
+ * GUI class.
+ *
+ * Usage:
+ * best grids [Easy|Medium|Hard]: print the best move of the side to move
+ * eval grids: print the scores of all moves of the side to move
+ * perft [options]: enumerate the game tree (see Perft)
+ *
+ * grids: 9 characters in row order, 'O' for circle, 'X' for cross and '.' for
+ * empty. Circle plays first.
+ */
+public class EngineCli {
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        switch (args[0]) {
+            case "best": {
+                BoardSnapshot board = parseBoard(args);
+                GameLevel level = GameLevel.createGameLevel(args.length > 2 ? args[2] : "Hard");
+                Move move = new ComputerPlayer(getSideToMove(board), level).getMove(board);
+                System.out.println(move == null ? "none" : move);
+                break;
+            }
+            case "eval": {
+                BoardSnapshot board = parseBoard(args);
+                for (Move move : new GameEvaluator().evaluateMoves(board, getSideToMove(board)))
+                    System.out.println(move);
+                break;
+            }
+            case "perft":
+                Perft.main(Arrays.copyOfRange(args, 1, args.length));
+                break;
+            default:
+                usage();
+                break;
+        }
+    }
+
+    private static BoardSnapshot parseBoard(String[] args) {
+        if (args.length < 2)
+            throw new IllegalArgumentException("Missing board grids, e.g. O...X....");
+        return BoardSnapshot.parse(args[1]);
+    }
+
+    /* Circle plays first, so it's the side to move on equal numbers of marks */
+    private static Mark getSideToMove(BoardSnapshot board) {
+        return board.getMoveCount() % 2 == 0 ? Mark.CIRCLE : Mark.CROSS;
+    }
+
+    private static void usage() {
+        System.out.println("Usage: EngineCli best <grids> [Easy|Medium|Hard] | eval <grids> | perft [options]");
+    }
+}
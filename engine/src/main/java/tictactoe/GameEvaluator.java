@@ -0,0 +1,69 @@
+package tictactoe;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Evaluate a game board and returns all possible moves with their scores
+ */
+public class GameEvaluator extends ComputerPlayer {
+    public GameEvaluator() {
+        super(Mark.EMPTY);
+    }
+
+    /** Returns all possible moves with their scores */
+    public List<Move> evaluateMoves(Board board, Mark mark) {
+        // evaluate on a snapshot so that the live board is never mutated
+        return evaluateMoves(board.snapshot(), mark);
+    }
+
+    /** Function overload of evaluateMoves with a board snapshot */
+    public List<Move> evaluateMoves(BoardSnapshot board, Mark mark) {
+        setMark(mark);
+        int[] scores = scoreMoves(board);
+        // for all possible moves
+        List<Move> possibleMoves = board.getPossibleMoves();
+        for (Move move : possibleMoves) {
+            // update score of the move
+            move.setScore(scores[move.toIndex()]);
+        }
+        return possibleMoves;
+    }
+
+    /**
+     * Evaluate all possible moves with iterative deepening, publishing each move
+     * with its score to the listener as soon as it's searched at each depth.
+     * Scores of the last depth are the same as evaluateMoves. Runs on the calling
+     * thread and stops early when the thread is interrupted.
+     */
+    public void evaluateMovesProgressively(BoardSnapshot board, Mark mark, Consumer<Move> listener) {
+        setMark(mark);
+        int targetDepth = maxDepth;
+        boolean useCache = resultCache != null && !usesSolver(board);
+        // publish the final result at once if it's cached
+        int[] scores = useCache ? resultCache.get(board, mark, targetDepth) : null;
+        if (scores != null) {
+            for (Move move : board.getPossibleMoves()) {
+                move.setScore(scores[move.toIndex()]);
+                listener.accept(move);
+            }
+            return;
+        }
+        // beyond the number of empty grids, a deeper search gives the same result
+        int lastDepth = Math.min(targetDepth, Integer.bitCount(board.getEmptyBits()));
+        try {
+            for (int depth = 1; depth <= lastDepth; depth++) {
+                maxDepth = depth == lastDepth ? targetDepth : depth;
+                scores = searchMoves(board, listener);
+                // interrupted
+                if (scores == null)
+                    return;
+            }
+        } finally {
+            maxDepth = targetDepth;
+        }
+        if (useCache)
+            resultCache.put(board, mark, targetDepth, scores);
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package tictactoe;
+
+/**
+ * Represents the difficulty level of the Computer Player. Each GameLevel
+ * corresponding to a minimax depth.
+ */
+public class GameLevel {
+    public static final String[] LEVELS = { "Easy", "Medium", "Hard" };
+
+    public static final GameLevel EASY = new GameLevel(3);
+    public static final GameLevel MEDIUM = new GameLevel(5);
+    public static final GameLevel HARD = new GameLevel(8);
+
+    public final int depth;
+
+    public GameLevel(int depth) {
+        this.depth = depth;
+    }
+
+    /**
+     * Static factory method to return a GameLevel instance from a level string.
+     * To encapsulate object creation from a string level.
+     */
+    public static GameLevel createGameLevel(String level) {
+        switch (level) {
+            case "Easy":
+                return EASY;
+            case "Medium":
+                return MEDIUM;
+            default:
+                return HARD;
+        }
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+}
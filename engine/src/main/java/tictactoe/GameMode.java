@@ -0,0 +1,11 @@
+package tictactoe;
+
+/**
+ * Mode of the TicTacToe Game
+ */
+public enum GameMode {
+    NOT_STARTED, // Game Not Started
+    PVP, // Player vs Player
+    PVC_HUMAN_FIRST, // Player vs Computer (Human start first)
+    PVC_COMPUTER_FIRST, // Player vs Computer (Computer start first)
+}
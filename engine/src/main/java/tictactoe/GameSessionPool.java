@@ -0,0 +1,191 @@
+package tictactoe;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Pool of game sessions for servers running many short games.
+ * The game of a released session is recycled: the board is reset and the
+ * players and evaluator are reused, so that starting a game allocates (almost)
+ * nothing. Evaluation tasks still create their own evaluator.
+ * Sessions are identified by ID and expire after an idle timeout; call
+ * evictIdle periodically to recycle them. A session is meant to be used by one
+ * thread at a time, the pool itself is thread-safe.
+ */
+public class GameSessionPool {
+    /**
+     * Handle of an acquired session. Once the session is released or expired its
+     * game may belong to another session, so the handle refuses access to it.
+     */
+    public class Session {
+        private final long id;
+        private final Slot slot;
+
+        private Session(long id, Slot slot) {
+            this.id = id;
+            this.slot = slot;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        /** Return true until the session is released or expired */
+        public boolean isActive() {
+            synchronized (slot) {
+                return slot.owner == id;
+            }
+        }
+
+        /**
+         * Return the game and refresh the idle time of the session. The game must
+         * not be kept: call this again for each access.
+         * Throws IllegalStateException if the session was released or expired.
+         */
+        public TicTacToeGame getGame() {
+            if (!touch())
+                throw new IllegalStateException("Session " + id + " was released or expired");
+            return slot.game;
+        }
+
+        /* Refresh the idle time, return false if the session is no longer active */
+        private boolean touch() {
+            synchronized (slot) {
+                if (slot.owner != id)
+                    return false;
+                slot.lastAccess = clock.getAsLong();
+                return true;
+            }
+        }
+
+        /* End the session, return false if it had already ended */
+        private boolean end() {
+            synchronized (slot) {
+                if (slot.owner != id)
+                    return false;
+                slot.owner = NO_OWNER;
+                return true;
+            }
+        }
+    }
+
+    /* A pooled game, owned by at most one session at a time */
+    private static class Slot {
+        private final TicTacToeGame game;
+        private long owner = NO_OWNER; // ID of the owning session, guarded by the slot
+        private long lastAccess; // in nanoseconds of the pool clock, guarded by the slot
+
+        Slot(TicTacToeGame game) {
+            this.game = game;
+        }
+    }
+
+    /* Owner of an idle slot, session IDs start from 1 */
+    private static final long NO_OWNER = 0;
+
+    private final Map<Long, Session> activeSessions = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Slot> idleSlots = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger(); // size of idleSlots, which is O(n)
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final int maxIdleSessions;
+    private final long idleTimeout; // in nanoseconds
+    private final LongSupplier clock;
+
+    /**
+     * Constructor: at most maxIdleSessions released sessions are kept for reuse,
+     * and sessions not accessed for the idle timeout are expired by evictIdle
+     */
+    public GameSessionPool(int maxIdleSessions, long idleTimeout, TimeUnit unit) {
+        this(maxIdleSessions, idleTimeout, unit, System::nanoTime);
+    }
+
+    /** Constructor with an explicit clock returning nanoseconds */
+    GameSessionPool(int maxIdleSessions, long idleTimeout, TimeUnit unit, LongSupplier clock) {
+        this.maxIdleSessions = maxIdleSessions;
+        this.idleTimeout = unit.toNanos(idleTimeout);
+        this.clock = clock;
+    }
+
+    /** Create sessions ahead of time, e.g. before the server accepts games */
+    public void preallocate(int count) {
+        for (int i = 0; i < count && idleCount.get() < maxIdleSessions; i++)
+            recycle(new Slot(new TicTacToeGame(GameMode.PVP, GameLevel.HARD)));
+    }
+
+    /** Start a game in a recycled session if any, otherwise in a new one */
+    public Session acquire(GameMode gameMode, GameLevel gameLevel) {
+        Slot slot = idleSlots.poll();
+        if (slot == null) {
+            slot = new Slot(new TicTacToeGame(gameMode, gameLevel));
+        } else {
+            idleCount.decrementAndGet();
+            slot.game.restart(gameMode, gameLevel);
+        }
+        Session session = new Session(nextId.getAndIncrement(), slot);
+        synchronized (slot) {
+            slot.owner = session.id;
+            slot.lastAccess = clock.getAsLong();
+        }
+        activeSessions.put(session.id, session);
+        return session;
+    }
+
+    /** Return the session with the ID and refresh its idle time, or null if released or expired */
+    public Session get(long id) {
+        Session session = activeSessions.get(id);
+        return session != null && session.touch() ? session : null;
+    }
+
+    /** End the session with the ID, return false if it was already released or expired */
+    public boolean release(long id) {
+        Session session = activeSessions.remove(id);
+        if (session == null || !session.end())
+            return false;
+        recycle(session.slot);
+        return true;
+    }
+
+    /** Release the sessions idle for longer than the timeout, return how many were expired */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int expired = 0;
+        for (Session session : activeSessions.values()) {
+            // check and end under the slot lock, so that a session accessed meanwhile is kept
+            synchronized (session.slot) {
+                if (session.slot.owner != session.id || now - session.slot.lastAccess <= idleTimeout)
+                    continue;
+                session.slot.owner = NO_OWNER;
+            }
+            activeSessions.remove(session.id, session);
+            recycle(session.slot);
+            expired++;
+        }
+        return expired;
+    }
+
+    /** Return the number of sessions in use */
+    public int getActiveCount() {
+        return activeSessions.size();
+    }
+
+    /** Return the number of sessions kept for reuse */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /* Keep the slot for reuse if the pool is not full, otherwise drop it */
+    private void recycle(Slot slot) {
+        if (idleCount.incrementAndGet() > maxIdleSessions) {
+            idleCount.decrementAndGet();
+            return;
+        }
+        // reset the board now so that an idle game holds no stale position
+        slot.game.board.initGrids();
+        idleSlots.offer(slot);
+    }
+}
@@ -0,0 +1,10 @@
+package tictactoe;
+
+/**
+ * State of the TicTacToe Game
+ */
+public enum GameState {
+    ONGOING,
+    WIN,
+    DRAW
+}
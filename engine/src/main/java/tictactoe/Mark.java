@@ -0,0 +1,10 @@
+package tictactoe;
+
+/**
+ * TicTacToe Cell Mark
+ */
+public enum Mark {
+    EMPTY,
+    CIRCLE,
+    CROSS
+}
@@ -0,0 +1,172 @@
+package tictactoe;
+
+import java.util.SplittableRandom;
+
+/**
+ * Board of a generalized m,n,k-game: k marks in a row on a board of m rows and
+ * n columns wins (TicTacToe is the 3,3,3-game).
+ * Grids are identified by index (row * columns + column). Moves must be undone
+ * in reverse order, as done by a search.
+ */
+public class MnkBoard {
+    /* Directions to look for a line: horizontal, vertical, diagonal \ and / */
+    private static final int[][] DIRECTIONS = { { 0, 1 }, { 1, 0 }, { 1, 1 }, { 1, -1 } };
+
+    public final int rows;
+    public final int columns;
+    public final int k;
+
+    private final Mark[] cells;
+    private final long[] zobrist; // random key of each (grid, mark), shared by copies
+    private int moveCount;
+    private Mark winner;
+    private long hash;
+
+    /** Constructor: create an empty board */
+    public MnkBoard(int rows, int columns, int k) {
+        this(rows, columns, k, createZobrist(rows * columns));
+    }
+
+    private MnkBoard(int rows, int columns, int k, long[] zobrist) {
+        if (rows <= 0 || columns <= 0 || k <= 0 || k > Math.max(rows, columns))
+            throw new IllegalArgumentException(String.format("Invalid m,n,k-game: %d,%d,%d", rows, columns, k));
+        this.rows = rows;
+        this.columns = columns;
+        this.k = k;
+        this.zobrist = zobrist;
+        cells = new Mark[rows * columns];
+        for (int i = 0; i < cells.length; i++)
+            cells[i] = Mark.EMPTY;
+    }
+
+    /**
+     * Create a board from a string of rows * columns characters in row order:
+     * 'O' for circle, 'X' for cross and any other character for empty
+     */
+    public static MnkBoard parse(int rows, int columns, int k, String position) {
+        MnkBoard board = new MnkBoard(rows, columns, k);
+        if (position.length() != board.size())
+            throw new IllegalArgumentException("Position must have " + board.size() + " grids: " + position);
+        for (int i = 0; i < position.length(); i++) {
+            char symbol = Character.toUpperCase(position.charAt(i));
+            if (symbol == 'O')
+                board.move(i, Mark.CIRCLE);
+            else if (symbol == 'X')
+                board.move(i, Mark.CROSS);
+        }
+        return board;
+    }
+
+    /** Create a TicTacToe (3,3,3) board from a snapshot */
+    public static MnkBoard of(BoardSnapshot snapshot) {
+        return parse(3, 3, 3, snapshot.toString());
+    }
+
+    /** Return an independent copy of the board */
+    public MnkBoard copy() {
+        MnkBoard board = new MnkBoard(rows, columns, k, zobrist);
+        System.arraycopy(cells, 0, board.cells, 0, cells.length);
+        board.moveCount = moveCount;
+        board.winner = winner;
+        board.hash = hash;
+        return board;
+    }
+
+    /** Return the number of grids */
+    public int size() {
+        return cells.length;
+    }
+
+    public Mark get(int index) {
+        return cells[index];
+    }
+
+    public boolean canMove(int index) {
+        return cells[index] == Mark.EMPTY;
+    }
+
+    /** Place the mark on the empty grid, the mover wins if it completes a line */
+    public void move(int index, Mark mark) {
+        cells[index] = mark;
+        moveCount++;
+        hash ^= zobrist[index * 2 + (mark == Mark.CIRCLE ? 0 : 1)];
+        if (winner == null && completesLine(index, mark))
+            winner = mark;
+    }
+
+    /** Remove the last placed mark */
+    public void undoMove(int index) {
+        Mark mark = cells[index];
+        cells[index] = Mark.EMPTY;
+        moveCount--;
+        hash ^= zobrist[index * 2 + (mark == Mark.CIRCLE ? 0 : 1)];
+        // the game stops at the first line, so it was completed by the last move
+        winner = null;
+    }
+
+    /* Return the winner's mark if there is a winner, otherwise return null */
+    public Mark getWinner() {
+        return winner;
+    }
+
+    public GameState getState() {
+        if (winner != null)
+            return GameState.WIN;
+        if (moveCount == cells.length)
+            return GameState.DRAW;
+        return GameState.ONGOING;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /** Return the mark to play next, circle plays first */
+    public Mark getSideToMove() {
+        return moveCount % 2 == 0 ? Mark.CIRCLE : Mark.CROSS;
+    }
+
+    /** Return the Zobrist hash of the position */
+    public long hash() {
+        return hash;
+    }
+
+    /* Return true if the mark on the grid is part of k marks in a row */
+    private boolean completesLine(int index, Mark mark) {
+        int row = index / columns;
+        int column = index % columns;
+        for (int[] direction : DIRECTIONS) {
+            int count = 1 + countMarks(row, column, direction[0], direction[1], mark)
+                    + countMarks(row, column, -direction[0], -direction[1], mark);
+            if (count >= k)
+                return true;
+        }
+        return false;
+    }
+
+    /* Count the consecutive marks from the grid (exclusive) in a direction */
+    private int countMarks(int row, int column, int rowStep, int columnStep, Mark mark) {
+        int count = 0;
+        for (int r = row + rowStep, c = column + columnStep; r >= 0 && r < rows && c >= 0 && c < columns
+                && cells[r * columns + c] == mark; r += rowStep, c += columnStep)
+            count++;
+        return count;
+    }
+
+    private static long[] createZobrist(int size) {
+        // fixed seed so that hashes are reproducible between runs
+        SplittableRandom random = new SplittableRandom(size);
+        long[] keys = new long[size * 2];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = random.nextLong();
+        return keys;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(cells.length);
+        for (Mark mark : cells)
+            builder.append(mark == Mark.CIRCLE ? 'O' : mark == Mark.CROSS ? 'X' : '.');
+        return builder.toString();
+    }
+}
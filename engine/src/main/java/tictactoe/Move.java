@@ -0,0 +1,40 @@
+package tictactoe;
+
+/**
+ * Represent a move on board.
+ * Row and column are used to identify a position on board.
+ * Row and column CANNOT be changed after initialization. (final)
+ */
+public class Move {
+    public static final int ROWS = 3;
+    public static final int COLUMNS = 3;
+    public final int row;
+    public final int column;
+    public int score; // score of the move (optional)
+
+    public Move(int row, int column) {
+        this.row = row;
+        this.column = column;
+    }
+
+    public Move(int row, int column, int score) {
+        this(row, column);
+        setScore(score);
+    }
+
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Convert move's 2d position to 1d position
+     */
+    public int toIndex() {
+        return row * ROWS + column;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("(%d,%d) with score %d", row, column, score);
+    }
+}
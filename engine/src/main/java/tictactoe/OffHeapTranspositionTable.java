@@ -0,0 +1,99 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Transposition table stored outside of the Java heap, so that a cache of
+ * several GB neither inflates the heap nor adds to GC pause times.
+ *
+ * Entries live in direct or memory-mapped buffers of at most 1 GB each. Direct
+ * buffers are limited by -XX:MaxDirectMemorySize, which defaults to the max heap
+ * size, so a table larger than the heap needs e.g. -XX:MaxDirectMemorySize=9g.
+ * Absolute reads and writes do not touch the buffer positions, so a table can be
+ * shared by search threads like the on-heap one. Mapping a file on a hugetlbfs
+ * mount (e.g. /dev/hugepages) backs the table with huge pages; its size must
+ * then be a multiple of the huge page size.
+ */
+public class OffHeapTranspositionTable extends TranspositionTable {
+    private static final int CHUNK_SHIFT = 27; // 2^27 longs = 1 GB per buffer
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+
+    private final LongBuffer[] chunks;
+
+    private OffHeapTranspositionTable(int buckets, ByteBuffer[] buffers) {
+        super(buckets, false);
+        chunks = new LongBuffer[buffers.length];
+        for (int i = 0; i < buffers.length; i++)
+            chunks[i] = buffers[i].order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    /**
+     * Create a table of at most the given size in MB in direct memory.
+     * Throws OutOfMemoryError if it exceeds -XX:MaxDirectMemorySize.
+     */
+    public static OffHeapTranspositionTable allocate(int megabytes) {
+        int buckets = bucketsOf(megabytes);
+        ByteBuffer[] buffers = new ByteBuffer[chunkCount(buckets)];
+        for (int i = 0; i < buffers.length; i++)
+            buffers[i] = ByteBuffer.allocateDirect(chunkBytes(buckets, i));
+        return new OffHeapTranspositionTable(buckets, buffers);
+    }
+
+    /**
+     * Create a table of at most the given size in MB backed by a memory-mapped
+     * file. The file is created or truncated, so the table starts empty without
+     * writing to it.
+     */
+    public static OffHeapTranspositionTable map(Path file, int megabytes) throws IOException {
+        int buckets = bucketsOf(megabytes);
+        ByteBuffer[] buffers = new ByteBuffer[chunkCount(buckets)];
+        // the mapping stays valid after the channel is closed
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            for (int i = 0; i < buffers.length; i++) {
+                int size = chunkBytes(buckets, i);
+                buffers[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, size);
+                position += size;
+            }
+        }
+        // mapping extends the file with zeros, i.e. empty entries
+        return new OffHeapTranspositionTable(buckets, buffers);
+    }
+
+    @Override
+    public void clear() {
+        for (LongBuffer chunk : chunks) {
+            for (int i = 0; i < chunk.capacity(); i++)
+                chunk.put(i, 0);
+        }
+    }
+
+    @Override
+    protected long load(int index) {
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    @Override
+    protected void save(int index, long value) {
+        chunks[index >>> CHUNK_SHIFT].put(index & CHUNK_MASK, value);
+    }
+
+    /* Return the number of buffers needed for the buckets */
+    private static int chunkCount(int buckets) {
+        long longs = (long) buckets * LONGS_PER_BUCKET;
+        return (int) ((longs + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    /* Return the size in bytes of the i-th buffer */
+    private static int chunkBytes(int buckets, int i) {
+        long longs = (long) buckets * LONGS_PER_BUCKET - ((long) i << CHUNK_SHIFT);
+        return (int) Math.min(longs, 1 << CHUNK_SHIFT) * Long.BYTES;
+    }
+}
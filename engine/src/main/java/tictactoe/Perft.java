@@ -0,0 +1,306 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Perft: enumerate the game tree from a position to a given depth and count the
+ * nodes and the finished games.
+ * The counts are a correctness oracle for board implementations (the full
+ * TicTacToe tree has 549,945 nodes and 255,168 games: 131,184 won, 77,904 lost
+ * and 46,080 drawn by the first player), and the nodes per second a throughput
+ * baseline of move generation.
+ *
+ * Usage: Perft [depth] [--size m n k] [--position grids] [--parallel] [--tt]
+ * [--board] [--batch]
+ * --board enumerates with Board (3,3,3 only) instead of MnkBoard and checks that
+ * both give the same counts. --batch does the same breadth-first with packed
+ * snapshots classified by BatchWinDetector.
+ */
+public class Perft {
+    /* Number of plies split into parallel tasks */
+    private static final int SPLIT_DEPTH = 3;
+
+    /** Counts of a perft, wins and losses are from the view of the side to move at the root */
+    public static class Counts {
+        public long nodes; // positions reached, excluding the root
+        public long wins;
+        public long losses;
+        public long draws;
+
+        public long games() {
+            return wins + losses + draws;
+        }
+
+        public void add(Counts other) {
+            nodes += other.nodes;
+            wins += other.wins;
+            losses += other.losses;
+            draws += other.draws;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Counts))
+                return false;
+            Counts counts = (Counts) other;
+            return nodes == counts.nodes && wins == counts.wins && losses == counts.losses && draws == counts.draws;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(nodes * 31 + games());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("nodes=%,d games=%,d (wins=%,d losses=%,d draws=%,d)", nodes, games(), wins, losses,
+                    draws);
+        }
+    }
+
+    private final boolean parallel;
+    // counts of subtrees by position and depth, null if transpositions are not used
+    private final Map<Long, Counts> transpositions;
+
+    public Perft(boolean parallel, boolean useTranspositions) {
+        this.parallel = parallel;
+        transpositions = useTranspositions ? new ConcurrentHashMap<>() : null;
+    }
+
+    /**
+     * Count the tree of the board to the depth. The board is restored afterwards.
+     * A finished position or a depth of 0 has an empty tree.
+     */
+    public Counts count(MnkBoard board, int depth) {
+        if (depth <= 0 || board.getState() != GameState.ONGOING)
+            return new Counts();
+        if (parallel)
+            return ForkJoinPool.commonPool().invoke(new PerftTask(board.copy(), board.getSideToMove(), depth, 0));
+        return count(board, board.getSideToMove(), depth);
+    }
+
+    private Counts count(MnkBoard board, Mark rootMark, int depth) {
+        // look up the same position reached by another move order
+        Long key = null;
+        if (transpositions != null && depth > 1) {
+            key = board.hash() * 31 + depth;
+            Counts counts = transpositions.get(key);
+            if (counts != null)
+                return counts;
+        }
+        Counts counts = new Counts();
+        Mark mark = board.getSideToMove();
+        for (int index = 0; index < board.size(); index++) {
+            if (!board.canMove(index))
+                continue;
+            board.move(index, mark);
+            if (!countTerminal(board.getState(), mark, rootMark, counts) && depth > 1)
+                counts.add(count(board, rootMark, depth - 1));
+            board.undoMove(index);
+        }
+        if (key != null)
+            transpositions.put(key, counts);
+        return counts;
+    }
+
+    /**
+     * Count the tree of a TicTacToe Board to the depth, exercising
+     * Board.move/undoMove/getPossibleMoves. Always sequential.
+     */
+    public static Counts count(Board board, Mark mark, int depth) {
+        if (depth <= 0 || board.getState() != GameState.ONGOING)
+            return new Counts();
+        return count(board, mark, mark, depth);
+    }
+
+    private static Counts count(Board board, Mark mark, Mark rootMark, int depth) {
+        Counts counts = new Counts();
+        Mark nextMark = mark == Mark.CIRCLE ? Mark.CROSS : Mark.CIRCLE;
+        for (Move move : board.getPossibleMoves()) {
+            board.move(move, mark);
+            if (!countTerminal(board.getState(), mark, rootMark, counts) && depth > 1)
+                counts.add(count(board, nextMark, rootMark, depth - 1));
+            board.undoMove(move);
+        }
+        return counts;
+    }
+
+    /**
+     * Count the tree of a TicTacToe snapshot to the depth breadth-first: all the
+     * positions of a ply are classified in one batch by BatchWinDetector, so the
+     * vector kernel works on full vectors. Always sequential.
+     */
+    public static Counts count(BoardSnapshot board, Mark mark, int depth) {
+        Counts counts = new Counts();
+        if (board.getState() != GameState.ONGOING)
+            return counts;
+        int[] positions = { board.toBits() };
+        int size = 1;
+        Mark mover = mark;
+        for (int ply = 0; ply < depth && size > 0; ply++) {
+            // children of the ongoing positions of the previous ply
+            int[] children = new int[size * (9 - board.getMoveCount() - ply)];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int position = positions[i];
+                for (int empty = new BoardSnapshot(position).getEmptyBits(); empty != 0; empty &= empty - 1)
+                    children[count++] = position | BoardSnapshot.bitOf(Integer.numberOfTrailingZeros(empty), mover);
+            }
+            int[] results = new int[count];
+            BatchWinDetector.detect(children, results, count);
+            counts.nodes += count;
+            // keep the ongoing positions in place for the next ply
+            size = 0;
+            for (int i = 0; i < count; i++) {
+                if (results[i] == BatchWinDetector.ONGOING)
+                    children[size++] = children[i];
+                else if (results[i] == BatchWinDetector.DRAW)
+                    counts.draws++;
+                else if (BatchWinDetector.winnerOf(results[i]) == mark)
+                    counts.wins++;
+                else
+                    counts.losses++;
+            }
+            positions = children;
+            mover = mover == Mark.CIRCLE ? Mark.CROSS : Mark.CIRCLE;
+        }
+        return counts;
+    }
+
+    /* Count a node reached by the mover, return true if the game is finished */
+    private static boolean countTerminal(GameState state, Mark mover, Mark rootMark, Counts counts) {
+        counts.nodes++;
+        switch (state) {
+            case WIN:
+                if (mover == rootMark)
+                    counts.wins++;
+                else
+                    counts.losses++;
+                return true;
+            case DRAW:
+                counts.draws++;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /* Fork/join task counting the subtree of each move in parallel near the root */
+    private class PerftTask extends RecursiveTask<Counts> {
+        private final MnkBoard board;
+        private final Mark rootMark;
+        private final int depth;
+        private final int ply;
+
+        PerftTask(MnkBoard board, Mark rootMark, int depth, int ply) {
+            this.board = board;
+            this.rootMark = rootMark;
+            this.depth = depth;
+            this.ply = ply;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (ply >= SPLIT_DEPTH || depth <= 1)
+                return count(board, rootMark, depth);
+            Counts counts = new Counts();
+            Mark mark = board.getSideToMove();
+            List<PerftTask> tasks = new ArrayList<>();
+            for (int index = 0; index < board.size(); index++) {
+                if (!board.canMove(index))
+                    continue;
+                MnkBoard child = board.copy();
+                child.move(index, mark);
+                if (!countTerminal(child.getState(), mark, rootMark, counts))
+                    tasks.add(new PerftTask(child, rootMark, depth - 1, ply + 1));
+            }
+            for (PerftTask task : invokeAll(tasks))
+                counts.add(task.join());
+            return counts;
+        }
+    }
+
+    public static void main(String[] args) {
+        int rows = 3;
+        int columns = 3;
+        int k = 3;
+        int depth = -1;
+        String position = null;
+        boolean parallel = false;
+        boolean useTranspositions = false;
+        boolean useBoard = false;
+        boolean useBatch = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--size":
+                    rows = Integer.parseInt(args[++i]);
+                    columns = Integer.parseInt(args[++i]);
+                    k = Integer.parseInt(args[++i]);
+                    break;
+                case "--position":
+                    position = args[++i];
+                    break;
+                case "--parallel":
+                    parallel = true;
+                    break;
+                case "--tt":
+                    useTranspositions = true;
+                    break;
+                case "--board":
+                    useBoard = true;
+                    break;
+                case "--batch":
+                    useBatch = true;
+                    break;
+                default:
+                    depth = Integer.parseInt(args[i]);
+                    break;
+            }
+        }
+        MnkBoard board = position == null ? new MnkBoard(rows, columns, k)
+                : MnkBoard.parse(rows, columns, k, position);
+        if (depth < 0)
+            depth = board.size() - board.getMoveCount();
+
+        long start = System.nanoTime();
+        Counts counts = new Perft(parallel, useTranspositions).count(board, depth);
+        report("MnkBoard", counts, System.nanoTime() - start);
+
+        if (useBoard || useBatch) {
+            if (rows != 3 || columns != 3 || k != 3)
+                throw new IllegalArgumentException("--board and --batch only support the 3,3,3-game");
+            Board ticTacToeBoard = new Board();
+            for (int i = 0; i < board.size(); i++) {
+                if (!board.canMove(i))
+                    ticTacToeBoard.move(i / 3, i % 3, board.get(i));
+            }
+            int plies = depth;
+            if (useBoard)
+                verify("Board", counts, () -> count(ticTacToeBoard, board.getSideToMove(), plies));
+            if (useBatch)
+                verify("Batch", counts, () -> count(ticTacToeBoard.snapshot(), board.getSideToMove(), plies));
+        }
+    }
+
+    /* Run a perft with another implementation and exit if its counts differ */
+    private static void verify(String name, Counts expected, Supplier<Counts> perft) {
+        long start = System.nanoTime();
+        Counts counts = perft.get();
+        report(name, counts, System.nanoTime() - start);
+        if (!counts.equals(expected)) {
+            System.out.println("MISMATCH between MnkBoard and " + name);
+            System.exit(1);
+        }
+    }
+
+    private static void report(String name, Counts counts, long nanos) {
+        System.out.printf("%s: %s in %.3f ms, %,.0f nodes/s%n", name, counts, nanos / 1e6,
+                counts.nodes / (nanos / 1e9));
+    }
+}
@@ -3,7 +3,7 @@ package tictactoe;
 /**
  * Base class of a Player
  */
-class Player {
+public class Player {
     protected String name;
     protected Mark mark;
 
@@ -21,4 +21,14 @@ class Player {
     public Mark getMark() {
         return mark;
     }
+
+    /** Change the name of the player, e.g. when reused in another game */
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /** Change the mark of the player, e.g. when reused in another game */
+    public void setMark(Mark mark) {
+        this.mark = mark;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package tictactoe;
+
+import java.util.Arrays;
+
+/**
+ * Depth-first proof-number search (df-pn) solver.
+ * Proves or disproves that an attacker can force a win from a position of any
+ * m,n,k-game, no matter how deep the win is, where a depth-limited minimax only
+ * sees wins inside its horizon. A draw counts as a disproof.
+ *
+ * Memory is bounded by a fixed-size table of proof and disproof numbers
+ * (always-replace), and time by a budget of searched nodes, beyond which the
+ * result is UNKNOWN.
+ */
+public class ProofNumberSolver {
+    public enum Result {
+        PROVEN, // the attacker can force a win
+        DISPROVEN, // the defender can force a draw or a win
+        UNKNOWN, // the node budget was exhausted
+    }
+
+    public static final int DEFAULT_TABLE_SIZE = 1 << 14;
+    public static final long DEFAULT_MAX_NODES = 100_000;
+
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    private final long[] keys;
+    private final int[] proofNumbers;
+    private final int[] disproofNumbers;
+    private final int tableMask;
+    private final long maxNodes;
+
+    // state of the current solve
+    private Mark attacker;
+    private long attackerKey;
+    private long nodes;
+    private int rootMove;
+    private int rootProofNumber;
+    private int rootDisproofNumber;
+    private String rootGame = "";
+
+    public ProofNumberSolver() {
+        this(DEFAULT_TABLE_SIZE, DEFAULT_MAX_NODES);
+    }
+
+    /** Constructor: table size is rounded up to a power of 2 */
+    public ProofNumberSolver(int tableSize, long maxNodes) {
+        int size = tableSize <= 1 ? 1 : Integer.highestOneBit(tableSize - 1) << 1;
+        keys = new long[size];
+        proofNumbers = new int[size];
+        disproofNumbers = new int[size];
+        tableMask = size - 1;
+        this.maxNodes = maxNodes;
+    }
+
+    /** Try to prove that the side to move can force a win. The board is restored afterwards. */
+    public Result solve(MnkBoard board) {
+        return solve(board, board.getSideToMove());
+    }
+
+    /** Try to prove that the attacker can force a win. The board is restored afterwards. */
+    public Result solve(MnkBoard board, Mark attacker) {
+        // entries of another game are meaningless
+        String game = board.rows + "," + board.columns + "," + board.k;
+        if (!game.equals(rootGame)) {
+            Arrays.fill(keys, 0);
+            rootGame = game;
+        }
+        this.attacker = attacker;
+        // entries of both attackers can share the table
+        attackerKey = attacker == Mark.CIRCLE ? 0 : 0x9E3779B97F4A7C15L;
+        nodes = 0;
+        rootMove = -1;
+        if (board.getState() != GameState.ONGOING)
+            return board.getWinner() == attacker ? Result.PROVEN : Result.DISPROVEN;
+        multipleIterativeDeepening(board, INFINITY, INFINITY, true);
+        if (rootProofNumber == 0)
+            return Result.PROVEN;
+        if (rootDisproofNumber == 0)
+            return Result.DISPROVEN;
+        return Result.UNKNOWN;
+    }
+
+    /**
+     * Return the grid index of the winning move of the last solve if the root was
+     * proven with the attacker to move, otherwise -1
+     */
+    public int getWinningMove() {
+        return rootMove;
+    }
+
+    /** Return the number of nodes searched by the last solve */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /*
+     * Expand a node until its proof number reaches proofThreshold or its disproof
+     * number reaches disproofThreshold
+     */
+    private void multipleIterativeDeepening(MnkBoard board, int proofThreshold, int disproofThreshold,
+            boolean isRoot) {
+        nodes++;
+        Mark mark = board.getSideToMove();
+        boolean isOrNode = mark == attacker;
+        int[] children = new int[board.size() - board.getMoveCount()];
+        int count = 0;
+        for (int index = 0; index < board.size(); index++) {
+            if (board.canMove(index))
+                children[count++] = index;
+        }
+        int[] childProofs = new int[count];
+        int[] childDisproofs = new int[count];
+        while (true) {
+            // collect the numbers of the children
+            int best = -1;
+            int secondBestNumber = INFINITY;
+            int proofNumber = isOrNode ? INFINITY : 0;
+            int disproofNumber = isOrNode ? 0 : INFINITY;
+            for (int i = 0; i < count; i++) {
+                board.move(children[i], mark);
+                readNumbers(board, mark, childProofs, childDisproofs, i);
+                board.undoMove(children[i]);
+                // OR node: min of proof numbers, sum of disproof numbers. AND node: vice versa
+                int selectNumber = isOrNode ? childProofs[i] : childDisproofs[i];
+                if (best < 0 || selectNumber < (isOrNode ? childProofs[best] : childDisproofs[best])) {
+                    if (best >= 0)
+                        secondBestNumber = isOrNode ? childProofs[best] : childDisproofs[best];
+                    best = i;
+                } else if (selectNumber < secondBestNumber) {
+                    secondBestNumber = selectNumber;
+                }
+                if (isOrNode) {
+                    proofNumber = Math.min(proofNumber, childProofs[i]);
+                    disproofNumber = add(disproofNumber, childDisproofs[i]);
+                } else {
+                    proofNumber = add(proofNumber, childProofs[i]);
+                    disproofNumber = Math.min(disproofNumber, childDisproofs[i]);
+                }
+            }
+            store(board, proofNumber, disproofNumber);
+            // the root entry may be replaced in the table, so keep its numbers aside
+            if (isRoot) {
+                rootProofNumber = proofNumber;
+                rootDisproofNumber = disproofNumber;
+                if (isOrNode && proofNumber == 0)
+                    rootMove = children[best];
+            }
+            if (proofNumber >= proofThreshold || disproofNumber >= disproofThreshold || nodes >= maxNodes)
+                return;
+            // search the most proving child with thresholds to come back when another child gets better
+            int childProofThreshold;
+            int childDisproofThreshold;
+            if (isOrNode) {
+                childProofThreshold = Math.min(proofThreshold, add(secondBestNumber, 1));
+                childDisproofThreshold = add(disproofThreshold - disproofNumber, childDisproofs[best]);
+            } else {
+                childProofThreshold = add(proofThreshold - proofNumber, childProofs[best]);
+                childDisproofThreshold = Math.min(disproofThreshold, add(secondBestNumber, 1));
+            }
+            board.move(children[best], mark);
+            multipleIterativeDeepening(board, childProofThreshold, childDisproofThreshold, false);
+            board.undoMove(children[best]);
+        }
+    }
+
+    /* Read the numbers of a child position reached by the mover into the arrays */
+    private void readNumbers(MnkBoard board, Mark mover, int[] proofs, int[] disproofs, int i) {
+        GameState state = board.getState();
+        if (state == GameState.WIN && mover == attacker) {
+            proofs[i] = 0;
+            disproofs[i] = INFINITY;
+        } else if (state != GameState.ONGOING) {
+            proofs[i] = INFINITY;
+            disproofs[i] = 0;
+        } else {
+            int entry = lookup(board);
+            proofs[i] = entry < 0 ? 1 : proofNumbers[entry];
+            disproofs[i] = entry < 0 ? 1 : disproofNumbers[entry];
+        }
+    }
+
+    /* Return the table entry of the position, or -1 if not found */
+    private int lookup(MnkBoard board) {
+        long key = key(board);
+        int entry = (int) key & tableMask;
+        return keys[entry] == key ? entry : -1;
+    }
+
+    private void store(MnkBoard board, int proofNumber, int disproofNumber) {
+        long key = key(board);
+        int entry = (int) key & tableMask;
+        keys[entry] = key;
+        proofNumbers[entry] = proofNumber;
+        disproofNumbers[entry] = disproofNumber;
+    }
+
+    private long key(MnkBoard board) {
+        // 0 marks an empty entry
+        long key = board.hash() ^ attackerKey;
+        return key == 0 ? 1 : key;
+    }
+
+    /* Saturating addition of proof numbers */
+    private static int add(int a, int b) {
+        long sum = (long) a + b;
+        return sum >= INFINITY ? INFINITY : (int) sum;
+    }
+}
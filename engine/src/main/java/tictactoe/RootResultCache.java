@@ -0,0 +1,206 @@
+package tictactoe;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide LRU cache of root search results, i.e. the scores of all
+ * possible moves of a position.
+ * Positions are stored in a canonical form over the 8 symmetries of the board
+ * (rotations and reflections), so that e.g. all 4 corner openings share an
+ * entry. The key also holds the side to move and the search depth.
+ */
+public class RootResultCache {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final RootResultCache SHARED = new RootResultCache(DEFAULT_CAPACITY);
+
+    /*
+     * Grid index mapping of each symmetry: SYMMETRIES[t][i] is where the grid i
+     * moves to under the transformation t
+     */
+    private static final int[][] SYMMETRIES = {
+            { 0, 1, 2, 3, 4, 5, 6, 7, 8 }, // identity
+            { 2, 5, 8, 1, 4, 7, 0, 3, 6 }, // rotate 90
+            { 8, 7, 6, 5, 4, 3, 2, 1, 0 }, // rotate 180
+            { 6, 3, 0, 7, 4, 1, 8, 5, 2 }, // rotate 270
+            { 2, 1, 0, 5, 4, 3, 8, 7, 6 }, // reflect horizontally
+            { 6, 7, 8, 3, 4, 5, 0, 1, 2 }, // reflect vertically
+            { 0, 3, 6, 1, 4, 7, 2, 5, 8 }, // reflect on diagonal \
+            { 8, 5, 2, 7, 4, 1, 6, 3, 0 }, // reflect on diagonal /
+    };
+
+    /* Number of independently locked segments, a power of 2 */
+    private static final int SEGMENTS = 16;
+
+    /*
+     * Entries are striped over segments, each an LRU map with its own lock, so
+     * that concurrent games rarely wait for each other
+     */
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /* LRU map of a segment, guarded by itself */
+    private static class Segment extends LinkedHashMap<Long, int[]> {
+        private final int capacity;
+        private final LongAdder evictions;
+
+        Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+            if (size() <= capacity)
+                return false;
+            evictions.increment();
+            return true;
+        }
+    }
+
+    /**
+     * Constructor: the least recently used entry is evicted beyond the capacity.
+     * The LRU order is kept per segment of capacity / 16 entries (rounded up), so
+     * the order is only approximate over the whole cache.
+     */
+    public RootResultCache(int capacity) {
+        int segmentCapacity = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++)
+            segments[i] = new Segment(segmentCapacity, evictions);
+    }
+
+    /** Return the process-wide cache shared by all computer players by default */
+    public static RootResultCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Return the scores of the moves indexed by grid (row * 3 + column) for the
+     * side to move, or null if the position is not cached
+     */
+    public int[] get(BoardSnapshot board, Mark sideToMove, int depth) {
+        int symmetry = canonicalSymmetry(board);
+        long key = key(board, symmetry, sideToMove, depth);
+        Segment segment = segmentOf(key);
+        int[] canonicalScores;
+        synchronized (segment) {
+            canonicalScores = segment.get(key);
+        }
+        if (canonicalScores == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // map the scores back to the grids of the board
+        int[] scores = new int[9];
+        for (int i = 0; i < 9; i++)
+            scores[i] = canonicalScores[SYMMETRIES[symmetry][i]];
+        return scores;
+    }
+
+    /** Store the scores of the moves indexed by grid for the side to move */
+    public void put(BoardSnapshot board, Mark sideToMove, int depth, int[] scores) {
+        int symmetry = canonicalSymmetry(board);
+        long key = key(board, symmetry, sideToMove, depth);
+        int[] canonicalScores = new int[9];
+        for (int i = 0; i < 9; i++)
+            canonicalScores[SYMMETRIES[symmetry][i]] = scores[i];
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, canonicalScores);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /** Return the ratio of lookups that were hits, 0 if there was no lookup */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long lookups = hitCount + misses.sum();
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /** Remove all entries and reset the metrics */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RootResultCache[size=%d, hits=%d, misses=%d, evictions=%d]", size(), getHits(),
+                getMisses(), getEvictions());
+    }
+
+    /* Return the segment of a key, mixing the bits as keys differ mostly in the low bits */
+    private Segment segmentOf(long key) {
+        return segments[(int) (key * 0x9E3779B97F4A7C15L >>> 60) & (SEGMENTS - 1)];
+    }
+
+    /*
+     * Return the key of a position. A depth beyond the number of empty grids
+     * searches the same tree, so it is capped to share entries between levels.
+     */
+    private static long key(BoardSnapshot board, int symmetry, Mark sideToMove, int depth) {
+        int searchDepth = Math.min(depth, Integer.bitCount(board.getEmptyBits()));
+        return transform(board.toBits(), symmetry) | (long) sideToMove.ordinal() << 18 | (long) searchDepth << 20;
+    }
+
+    /* Return the symmetry transforming the board to its smallest packed form */
+    private static int canonicalSymmetry(BoardSnapshot board) {
+        int bits = board.toBits();
+        int best = 0;
+        int bestBits = bits;
+        for (int t = 1; t < SYMMETRIES.length; t++) {
+            int transformed = transform(bits, t);
+            if (transformed < bestBits) {
+                bestBits = transformed;
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    /* Apply a symmetry to packed board bits */
+    private static int transform(int bits, int symmetry) {
+        int result = 0;
+        for (int i = 0; i < 9; i++) {
+            int target = SYMMETRIES[symmetry][i];
+            result |= (bits >>> i & 1) << target;
+            result |= (bits >>> (i + 9) & 1) << (target + 9);
+        }
+        return result;
+    }
+}
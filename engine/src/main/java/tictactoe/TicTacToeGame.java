@@ -1,6 +1,7 @@
 package tictactoe;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * TicTacToe game.
@@ -8,7 +9,7 @@ import java.util.List;
  * a move initiated by the caller.
  * Suitable for GUI since the event-based callback controls the game.
  */
-class TicTacToeGame {
+public class TicTacToeGame {
 
     protected Board board; // represents the game board
 
@@ -19,8 +20,13 @@ class TicTacToeGame {
 
     protected GameEvaluator evaluator; // evalautor as AI-assistance for Human
 
+    // player objects, reused by every game of the given modes
+    private final Player[] humanPlayers = { new Player("Player 1", Mark.CIRCLE), new Player("Player 2", Mark.CROSS) };
+    private final ComputerPlayer computerPlayer = new ComputerPlayer(Mark.CROSS);
+
     /** Constructor: create the player objects and the board object */
     public TicTacToeGame(GameMode gameMode, GameLevel gameLevel) {
+        players = new Player[2];
         /* Initialize players */
         initPlayers(gameMode, gameLevel);
         /* Initialize board */
@@ -29,32 +35,46 @@ class TicTacToeGame {
         evaluator = new GameEvaluator();
     }
 
-    /** Init players based on game mode and game level */
+    /**
+     * Init players based on game mode and game level.
+     * The player objects are reused, so a restart allocates nothing.
+     */
     public void initPlayers(GameMode gameMode, GameLevel gameLevel) {
-        players = new Player[2];
         // Player vs Player
         if (gameMode == GameMode.PVP) {
             // initialize HumanPlayer Player 1 with mark O
-            players[0] = new Player("Player 1", Mark.CIRCLE);
+            players[0] = initPlayer(humanPlayers[0], "Player 1", Mark.CIRCLE);
             // initialize HumanPlayer Player 2 with mark X
-            players[1] = new Player("Player 2", Mark.CROSS);
+            players[1] = initPlayer(humanPlayers[1], "Player 2", Mark.CROSS);
             // HumanPlayer vs ComputerPlayer (Human First)
         } else if (gameMode == GameMode.PVC_HUMAN_FIRST) {
             // initialize HumanPlayer Player 1 with mark O
-            players[0] = new Player("Player", Mark.CIRCLE);
+            players[0] = initPlayer(humanPlayers[0], "Player", Mark.CIRCLE);
             // initialize ComputerPlayer 1 with mark X
-            players[1] = new ComputerPlayer(Mark.CROSS, gameLevel);
+            players[1] = initComputerPlayer(Mark.CROSS, gameLevel);
             // HumanPlayer vs ComputerPlayer (Computer First)
         } else {
             // initialize ComputerPlayer 1 with mark X
-            players[0] = new ComputerPlayer(Mark.CIRCLE, gameLevel);
+            players[0] = initComputerPlayer(Mark.CIRCLE, gameLevel);
             // initialize HumanPlayer Player 1 with mark O
-            players[1] = new Player("Player", Mark.CROSS);
+            players[1] = initPlayer(humanPlayers[1], "Player", Mark.CROSS);
         }
         /* Init current player */
         currentPlayerIdx = 0;
     }
 
+    private static Player initPlayer(Player player, String name, Mark mark) {
+        player.setName(name);
+        player.setMark(mark);
+        return player;
+    }
+
+    private ComputerPlayer initComputerPlayer(Mark mark, GameLevel gameLevel) {
+        computerPlayer.setMark(mark);
+        computerPlayer.setLevel(gameLevel == null ? GameLevel.HARD : gameLevel);
+        return computerPlayer;
+    }
+
     public Player getCurrentPlayer() {
         return players[currentPlayerIdx];
     }
@@ -93,6 +113,14 @@ class TicTacToeGame {
         board.initGrids();
     }
 
+    /**
+     * Return an immutable snapshot of the board, e.g. for spectators or loggers
+     * reading the game from other threads
+     */
+    public BoardSnapshot getSnapshot() {
+        return board.snapshot();
+    }
+
     /** Return whether current player is computer */
     public Boolean isComputer() {
         return getCurrentPlayer() instanceof ComputerPlayer;
@@ -108,4 +136,17 @@ class TicTacToeGame {
     public List<Move> evaluateMoves() {
         return evaluator.evaluateMoves(board, getCurrentPlayerMark());
     }
+
+    /**
+     * Return a task evaluating all possible moves of the current board
+     * progressively (see GameEvaluator.evaluateMovesProgressively), to be run on
+     * another thread. The task works on a snapshot, so the game can go on while
+     * it runs. It has its own evaluator rather than the game's one, as a cancelled
+     * task may still be running when the next one starts.
+     */
+    public Runnable createEvaluationTask(Consumer<Move> listener) {
+        BoardSnapshot snapshot = board.snapshot();
+        Mark mark = getCurrentPlayerMark();
+        return () -> new GameEvaluator().evaluateMovesProgressively(snapshot, mark, listener);
+    }
 }
@@ -0,0 +1,194 @@
+package tictactoe;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Fixed-size, lossy transposition table that can be shared by concurrent
+ * searches without locks or allocation.
+ *
+ * Entries are packed into a long[], 2 longs per entry: (key ^ data, data).
+ * Racing writers may tear an entry, in which case the XOR check fails on probe
+ * and the entry is treated as a miss (lockless hashing by Hyatt and Mann).
+ * Each bucket holds a depth-preferred slot and an always-replace slot.
+ *
+ * Data layout (bit offsets): 0-15 score, 16-17 bound, 18-25 depth,
+ * 26-29 best move (grid index), 32-63 key check bits.
+ *
+ * The shared table is configured with system properties:
+ * tictactoe.tt.mb (size in MB), tictactoe.tt.offheap (true to store it off-heap)
+ * and tictactoe.tt.file (memory-mapped file backing an off-heap table). An
+ * off-heap table larger than the max heap size needs -XX:MaxDirectMemorySize.
+ */
+public class TranspositionTable {
+    public static final int EXACT = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int UPPER_BOUND = 3;
+
+    public static final int NO_MOVE = 15;
+
+    /* Returned by probe when no entry matches the key */
+    public static final long MISS = 0;
+
+    public static final int DEFAULT_BUCKETS = 1 << 16;
+
+    protected static final int LONGS_PER_BUCKET = 4;
+
+    /* Size of the default table */
+    private static final int DEFAULT_MEGABYTES = DEFAULT_BUCKETS * LONGS_PER_BUCKET * Long.BYTES >> 20;
+
+    /* Largest supported size (8 GB), the index of a long must fit in an int */
+    public static final int MAX_MEGABYTES = 1 << 13;
+
+    private final long[] table; // null if stored elsewhere by a subclass
+    private final int bucketMask;
+
+    /** Constructor: number of buckets is rounded up to a power of 2 */
+    public TranspositionTable(int buckets) {
+        this(roundBuckets(buckets), true);
+    }
+
+    /** Constructor for subclasses storing the entries themselves */
+    protected TranspositionTable(int buckets, boolean onHeap) {
+        table = onHeap ? new long[buckets * LONGS_PER_BUCKET] : null;
+        bucketMask = buckets - 1;
+    }
+
+    /** Create an on-heap table of at most the given size in MB */
+    public static TranspositionTable ofMegabytes(int megabytes) {
+        return new TranspositionTable(bucketsOf(megabytes));
+    }
+
+    /** Return the process-wide table shared by all computer players by default */
+    public static TranspositionTable getShared() {
+        return SharedHolder.SHARED;
+    }
+
+    /*
+     * Lazily create the shared table from the system properties, once. An invalid
+     * setting or a table that can't be allocated falls back to the default table
+     * with a warning, so that computer players can still be created.
+     */
+    private static class SharedHolder {
+        static final TranspositionTable SHARED = createShared();
+
+        static TranspositionTable createShared() {
+            String size = System.getProperty("tictactoe.tt.mb");
+            String file = System.getProperty("tictactoe.tt.file");
+            boolean offHeap = Boolean.getBoolean("tictactoe.tt.offheap") || file != null;
+            try {
+                int megabytes = size == null ? DEFAULT_MEGABYTES : Integer.parseInt(size.trim());
+                if (!offHeap)
+                    return ofMegabytes(megabytes);
+                return file == null ? OffHeapTranspositionTable.allocate(megabytes)
+                        : OffHeapTranspositionTable.map(Paths.get(file), megabytes);
+            } catch (IOException | RuntimeException | OutOfMemoryError e) {
+                System.err.println("WARNING: Cannot create the transposition table set by the tictactoe.tt properties ("
+                        + e + "), using the default " + DEFAULT_MEGABYTES + " MB table");
+                return new TranspositionTable(DEFAULT_BUCKETS);
+            }
+        }
+    }
+
+    /**
+     * Return the hash key of a position.
+     * The mixing function is a bijection, so distinct positions never collide on
+     * the full key (only on the bucket index).
+     */
+    public static long key(BoardSnapshot board, Mark sideToMove) {
+        long z = board.toBits() | (long) sideToMove.ordinal() << 18;
+        // splitmix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Return the data of the entry with the given key, or MISS if not found */
+    public long probe(long key) {
+        int base = bucketOf(key);
+        for (int slot = base; slot < base + LONGS_PER_BUCKET; slot += 2) {
+            long data = load(slot + 1);
+            if (data != MISS && (load(slot) ^ data) == key && checkBits(data) == (int) (key >>> 32))
+                return data;
+        }
+        return MISS;
+    }
+
+    /**
+     * Store an entry. The depth-preferred slot is replaced by an entry of the
+     * same position or of equal or greater depth, otherwise the always-replace
+     * slot is used.
+     */
+    public void store(long key, int score, int bound, int depth, int bestMove) {
+        long data = (score & 0xFFFFL)
+                | (long) bound << 16
+                | (long) Math.min(depth, 0xFF) << 18
+                | (long) (bestMove & 0xF) << 26
+                | (key >>> 32) << 32;
+        int slot = bucketOf(key);
+        long current = load(slot + 1);
+        boolean samePosition = (load(slot) ^ current) == key;
+        if (current != MISS && !samePosition && depth(current) > depth)
+            slot += 2;
+        save(slot, key ^ data);
+        save(slot + 1, data);
+    }
+
+    /** Remove all entries */
+    public void clear() {
+        Arrays.fill(table, 0);
+    }
+
+    /** Return the number of buckets */
+    public int getBuckets() {
+        return bucketMask + 1;
+    }
+
+    /** Read the long at the index of the entry storage */
+    protected long load(int index) {
+        return table[index];
+    }
+
+    /** Write the long at the index of the entry storage */
+    protected void save(int index, long value) {
+        table[index] = value;
+    }
+
+    /** Round the number of buckets up to a power of 2 */
+    protected static int roundBuckets(int buckets) {
+        return buckets <= 1 ? 1 : Integer.highestOneBit(buckets - 1) << 1;
+    }
+
+    /** Return the number of buckets (a power of 2) fitting in the given size in MB */
+    protected static int bucketsOf(int megabytes) {
+        if (megabytes <= 0 || megabytes > MAX_MEGABYTES)
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_MEGABYTES + " MB: " + megabytes);
+        long buckets = ((long) megabytes << 20) / (LONGS_PER_BUCKET * Long.BYTES);
+        return Integer.highestOneBit((int) buckets);
+    }
+
+    public static int score(long data) {
+        return (short) data;
+    }
+
+    public static int bound(long data) {
+        return (int) (data >>> 16) & 0x3;
+    }
+
+    public static int depth(long data) {
+        return (int) (data >>> 18) & 0xFF;
+    }
+
+    public static int bestMove(long data) {
+        return (int) (data >>> 26) & 0xF;
+    }
+
+    private static int checkBits(long data) {
+        return (int) (data >>> 32);
+    }
+
+    private int bucketOf(long key) {
+        return ((int) key & bucketMask) * LONGS_PER_BUCKET;
+    }
+}
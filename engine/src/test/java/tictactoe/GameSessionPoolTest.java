@@ -0,0 +1,140 @@
+package tictactoe;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of GameSessionPool: recycling, session handles after release and
+ * expiry, and concurrent use. The pool clock is a counter set by the tests.
+ */
+public class GameSessionPoolTest {
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final AtomicLong now = new AtomicLong();
+
+    private GameSessionPool createPool(int maxIdleSessions) {
+        return new GameSessionPool(maxIdleSessions, TIMEOUT_SECONDS, TimeUnit.SECONDS, now::get);
+    }
+
+    private void advanceSeconds(long seconds) {
+        now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+
+    @Test public void releasedSessionCannotAccessRecycledGame() {
+        GameSessionPool pool = createPool(4);
+        GameSessionPool.Session alice = pool.acquire(GameMode.PVP, GameLevel.HARD);
+        TicTacToeGame game = alice.getGame();
+        assertTrue(pool.release(alice.getId()));
+        assertFalse(pool.release(alice.getId()));
+
+        GameSessionPool.Session bob = pool.acquire(GameMode.PVP, GameLevel.HARD);
+        assertNotSame(alice, bob);
+        assertSame("game is recycled", game, bob.getGame());
+        assertFalse(alice.getId() == bob.getId());
+        assertFalse(alice.isActive());
+        assertNull(pool.get(alice.getId()));
+        try {
+            alice.getGame();
+            fail("released session returned the game of " + bob.getId());
+        } catch (IllegalStateException expected) {
+        }
+        assertSame(bob, pool.get(bob.getId()));
+    }
+
+    @Test public void recycledGameStartsFromEmptyBoard() {
+        GameSessionPool pool = createPool(4);
+        GameSessionPool.Session first = pool.acquire(GameMode.PVP, GameLevel.HARD);
+        first.getGame().move(new Move(1, 1));
+        pool.release(first.getId());
+
+        GameSessionPool.Session second = pool.acquire(GameMode.PVC_HUMAN_FIRST, GameLevel.EASY);
+        assertEquals(BoardSnapshot.EMPTY, second.getGame().getSnapshot());
+        assertEquals(Mark.CIRCLE, second.getGame().getCurrentPlayerMark());
+        assertFalse(second.getGame().isComputer());
+    }
+
+    @Test public void idleSessionsExpire() {
+        GameSessionPool pool = createPool(4);
+        GameSessionPool.Session idle = pool.acquire(GameMode.PVP, GameLevel.HARD);
+        GameSessionPool.Session used = pool.acquire(GameMode.PVP, GameLevel.HARD);
+        advanceSeconds(TIMEOUT_SECONDS - 1);
+        used.getGame();
+        advanceSeconds(2);
+
+        assertEquals(1, pool.evictIdle());
+        assertNull(pool.get(idle.getId()));
+        assertFalse(idle.isActive());
+        assertFalse(pool.release(idle.getId()));
+        assertSame(used, pool.get(used.getId()));
+        assertEquals(1, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+        assertEquals(0, pool.evictIdle());
+    }
+
+    @Test public void keepsAtMostMaxIdleSessions() {
+        GameSessionPool pool = createPool(2);
+        List<GameSessionPool.Session> sessions = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            sessions.add(pool.acquire(GameMode.PVP, GameLevel.HARD));
+        for (GameSessionPool.Session session : sessions)
+            pool.release(session.getId());
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(2, pool.getIdleCount());
+        pool.acquire(GameMode.PVP, GameLevel.HARD);
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test public void concurrentSessionsNeverShareGames() throws InterruptedException {
+        GameSessionPool pool = createPool(8);
+        Set<TicTacToeGame> inUse = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < 2000; i++) {
+                        GameSessionPool.Session session = pool.acquire(GameMode.PVP, GameLevel.HARD);
+                        TicTacToeGame game = session.getGame();
+                        assertTrue("game shared by two sessions", inUse.add(game));
+                        assertEquals(BoardSnapshot.EMPTY, game.getSnapshot());
+                        game.move(new Move(i % 3, i / 3 % 3));
+                        assertTrue(inUse.remove(game));
+                        assertTrue(pool.release(session.getId()));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }));
+        }
+        // sessions are never idle for the timeout, so nothing may be evicted
+        Thread evictor = new Thread(() -> {
+            while (running.get()) {
+                if (pool.evictIdle() != 0)
+                    failure.compareAndSet(null, new AssertionError("evicted an active session"));
+            }
+        });
+        evictor.start();
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+        running.set(false);
+        evictor.join();
+
+        if (failure.get() != null)
+            throw new AssertionError(failure.get());
+        assertEquals(0, pool.getActiveCount());
+        assertTrue(pool.getIdleCount() <= 4);
+    }
+}
@@ -0,0 +1,80 @@
+package tictactoe;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Perft tests: the known counts of the full TicTacToe tree checked for every
+ * board implementation, guarding the incremental state of Board, MnkBoard and
+ * the batch win detection.
+ */
+public class PerftTest {
+    /* Full tree: 549,945 nodes and 255,168 games (131,184 / 77,904 / 46,080) */
+    private static final Perft.Counts FULL_TREE = counts(549945, 131184, 77904, 46080);
+
+    @Test public void mnkBoardCountsFullTree() {
+        assertEquals(FULL_TREE, new Perft(false, false).count(new MnkBoard(3, 3, 3), 9));
+        assertEquals(FULL_TREE, new Perft(true, false).count(new MnkBoard(3, 3, 3), 9));
+        assertEquals(FULL_TREE, new Perft(false, true).count(new MnkBoard(3, 3, 3), 9));
+    }
+
+    @Test public void boardCountsFullTree() {
+        Board board = new Board();
+        assertEquals(FULL_TREE, Perft.count(board, Mark.CIRCLE, 9));
+        // the board is restored
+        assertEquals(BoardSnapshot.EMPTY, board.snapshot());
+        assertEquals(GameState.ONGOING, board.getState());
+    }
+
+    @Test public void batchCountsFullTree() {
+        assertEquals(FULL_TREE, Perft.count(BoardSnapshot.EMPTY, Mark.CIRCLE, 9));
+    }
+
+    @Test public void implementationsAgreeFromPositions() {
+        String[] positions = { "O...X....", "OX.......", "O.X.X..O.", "XO.OX...." };
+        for (String position : positions) {
+            MnkBoard mnkBoard = MnkBoard.parse(3, 3, 3, position);
+            Mark mark = mnkBoard.getSideToMove();
+            for (int depth = 1; depth <= 9; depth++) {
+                Perft.Counts expected = new Perft(false, false).count(mnkBoard, depth);
+                Board board = toBoard(mnkBoard);
+                String name = position + " at depth " + depth;
+                assertEquals(name, expected, Perft.count(board, mark, depth));
+                assertEquals(name, expected, Perft.count(board.snapshot(), mark, depth));
+            }
+        }
+    }
+
+    @Test public void emptyTreeAtDepthZeroOrFinishedPosition() {
+        Perft.Counts empty = new Perft.Counts();
+        assertEquals(empty, new Perft(false, false).count(new MnkBoard(3, 3, 3), 0));
+        assertEquals(empty, Perft.count(new Board(), Mark.CIRCLE, 0));
+        assertEquals(empty, Perft.count(BoardSnapshot.EMPTY, Mark.CIRCLE, 0));
+        for (String position : new String[] { "OOOXX....", "OXOXOXXOX" }) {
+            MnkBoard mnkBoard = MnkBoard.parse(3, 3, 3, position);
+            assertEquals(position, empty, new Perft(false, false).count(mnkBoard, 9));
+            assertEquals(position, empty, new Perft(true, false).count(mnkBoard, 9));
+            BoardSnapshot snapshot = BoardSnapshot.parse(position);
+            assertEquals(position, empty, Perft.count(snapshot, mnkBoard.getSideToMove(), 9));
+            assertEquals(position, empty, Perft.count(toBoard(mnkBoard), mnkBoard.getSideToMove(), 9));
+        }
+    }
+
+    private static Board toBoard(MnkBoard mnkBoard) {
+        Board board = new Board();
+        for (int i = 0; i < 9; i++) {
+            if (!mnkBoard.canMove(i))
+                board.move(i / 3, i % 3, mnkBoard.get(i));
+        }
+        return board;
+    }
+
+    private static Perft.Counts counts(long nodes, long wins, long losses, long draws) {
+        Perft.Counts counts = new Perft.Counts();
+        counts.nodes = nodes;
+        counts.wins = wins;
+        counts.losses = losses;
+        counts.draws = draws;
+        return counts;
+    }
+}
@@ -0,0 +1,76 @@
+package tictactoe;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * ProofNumberSolver tests: results on every unfinished TicTacToe position are
+ * checked against a full minimax, and a known win on a larger board is proven.
+ */
+public class ProofNumberSolverTest {
+    @Test public void matchesMinimaxOnAllPositions() {
+        Map<Integer, Integer> values = new HashMap<>();
+        negamax(BoardSnapshot.EMPTY, values);
+        ProofNumberSolver solver = new ProofNumberSolver();
+        int positions = 0;
+        for (Map.Entry<Integer, Integer> entry : values.entrySet()) {
+            BoardSnapshot board = new BoardSnapshot(entry.getKey());
+            if (board.getState() != GameState.ONGOING)
+                continue;
+            positions++;
+            int value = entry.getValue();
+            MnkBoard mnkBoard = MnkBoard.of(board);
+            Mark sideToMove = mnkBoard.getSideToMove();
+            Mark opponent = sideToMove == Mark.CIRCLE ? Mark.CROSS : Mark.CIRCLE;
+
+            assertEquals(board + " side to move", value == 1 ? ProofNumberSolver.Result.PROVEN
+                    : ProofNumberSolver.Result.DISPROVEN, solver.solve(mnkBoard, sideToMove));
+            if (value == 1) {
+                // the winning move leaves the opponent lost
+                int move = solver.getWinningMove();
+                assertTrue(board + " winning move", board.canMove(move / 3, move % 3));
+                assertEquals(board + " winning move", -1, (int) values.get(board.with(move, sideToMove).toBits()));
+            }
+            assertEquals(board + " opponent", value == -1 ? ProofNumberSolver.Result.PROVEN
+                    : ProofNumberSolver.Result.DISPROVEN, solver.solve(mnkBoard, opponent));
+            assertEquals(board + " board is restored", board, BoardSnapshot.parse(mnkBoard.toString()));
+        }
+        assertEquals(4520, positions);
+    }
+
+    @Test public void provesOpeningWinOf443() {
+        ProofNumberSolver solver = new ProofNumberSolver();
+        assertEquals(ProofNumberSolver.Result.PROVEN, solver.solve(new MnkBoard(4, 4, 3)));
+        assertTrue(solver.getWinningMove() >= 0);
+        assertTrue(solver.getNodes() < ProofNumberSolver.DEFAULT_MAX_NODES);
+    }
+
+    @Test public void unknownWhenBudgetRunsOut() {
+        ProofNumberSolver solver = new ProofNumberSolver(ProofNumberSolver.DEFAULT_TABLE_SIZE, 10);
+        assertEquals(ProofNumberSolver.Result.UNKNOWN, solver.solve(new MnkBoard(4, 4, 3)));
+    }
+
+    /* Return the value of the position for the side to move (1 win, 0 draw, -1 loss), memoized */
+    private static int negamax(BoardSnapshot board, Map<Integer, Integer> values) {
+        Integer cached = values.get(board.toBits());
+        if (cached != null)
+            return cached;
+        int value;
+        if (board.hasWinner() != null) {
+            // the last mover won
+            value = -1;
+        } else if (board.isDraw()) {
+            value = 0;
+        } else {
+            Mark mark = board.getMoveCount() % 2 == 0 ? Mark.CIRCLE : Mark.CROSS;
+            value = -1;
+            for (int empty = board.getEmptyBits(); empty != 0; empty &= empty - 1)
+                value = Math.max(value, -negamax(board.with(Integer.numberOfTrailingZeros(empty), mark), values));
+        }
+        values.put(board.toBits(), value);
+        return value;
+    }
+}
@@ -0,0 +1,106 @@
+package tictactoe;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests of RootResultCache: scores stored for a position are returned, mapped
+ * to the right grids, for each of its 8 symmetric positions.
+ */
+public class RootResultCacheTest {
+    /* The 8 symmetries as functions of (row, column) to a grid index */
+    private static final int[][] SYMMETRIES = new int[8][9];
+
+    static {
+        for (int row = 0; row < 3; row++) {
+            for (int column = 0; column < 3; column++) {
+                int index = row * 3 + column;
+                SYMMETRIES[0][index] = row * 3 + column;
+                SYMMETRIES[1][index] = column * 3 + (2 - row);
+                SYMMETRIES[2][index] = (2 - row) * 3 + (2 - column);
+                SYMMETRIES[3][index] = (2 - column) * 3 + row;
+                SYMMETRIES[4][index] = row * 3 + (2 - column);
+                SYMMETRIES[5][index] = (2 - row) * 3 + column;
+                SYMMETRIES[6][index] = column * 3 + row;
+                SYMMETRIES[7][index] = (2 - column) * 3 + (2 - row);
+            }
+        }
+    }
+
+    @Test public void scoresRoundTripUnderAllSymmetries() {
+        RootResultCache cache = new RootResultCache(64);
+        Set<Integer> positions = new HashSet<>();
+        collectOngoing(BoardSnapshot.EMPTY, Mark.CIRCLE, positions);
+        assertEquals(4520, positions.size());
+        for (int bits : positions) {
+            BoardSnapshot board = new BoardSnapshot(bits);
+            Mark sideToMove = board.getMoveCount() % 2 == 0 ? Mark.CIRCLE : Mark.CROSS;
+            int[] scores = scoresOf(board);
+            cache.clear();
+            cache.put(board, sideToMove, GameLevel.HARD.depth, scores);
+            for (int[] symmetry : SYMMETRIES) {
+                int[] expected = new int[9];
+                for (int i = 0; i < 9; i++)
+                    expected[symmetry[i]] = scores[i];
+                BoardSnapshot transformed = transform(board, symmetry);
+                assertArrayEquals(board + " as " + transformed, expected,
+                        cache.get(transformed, sideToMove, GameLevel.HARD.depth));
+            }
+            // depths beyond the number of empty grids share the entry
+            if (Integer.bitCount(board.getEmptyBits()) > GameLevel.EASY.depth)
+                assertNull(cache.get(board, sideToMove, GameLevel.EASY.depth));
+            else
+                assertNotNull(cache.get(board, sideToMove, GameLevel.EASY.depth));
+        }
+    }
+
+    @Test public void evictsBeyondCapacity() {
+        RootResultCache cache = new RootResultCache(16);
+        Set<Integer> positions = new HashSet<>();
+        collectOngoing(BoardSnapshot.EMPTY, Mark.CIRCLE, positions);
+        for (int bits : positions)
+            cache.put(new BoardSnapshot(bits), Mark.CIRCLE, GameLevel.HARD.depth, new int[9]);
+        assertTrue(cache.size() <= 16);
+        assertTrue(cache.getEvictions() > 0);
+    }
+
+    /*
+     * Return scores that differ between grids but not between symmetric positions,
+     * like real search results: from the lines through each empty grid and the
+     * marks on them
+     */
+    private static int[] scoresOf(BoardSnapshot board) {
+        int[] scores = new int[9];
+        for (int empty = board.getEmptyBits(); empty != 0; empty &= empty - 1) {
+            int grid = Integer.numberOfTrailingZeros(empty);
+            for (int line : BoardSnapshot.WIN_MASKS) {
+                if ((line & 1 << grid) != 0)
+                    scores[grid] += 100 + 10 * Integer.bitCount(board.getBits(Mark.CIRCLE) & line)
+                            + Integer.bitCount(board.getBits(Mark.CROSS) & line);
+            }
+        }
+        return scores;
+    }
+
+    /* Collect the packed bits of all reachable positions that are not finished */
+    private static void collectOngoing(BoardSnapshot board, Mark mark, Set<Integer> positions) {
+        if (board.getState() != GameState.ONGOING || !positions.add(board.toBits()))
+            return;
+        Mark next = mark == Mark.CIRCLE ? Mark.CROSS : Mark.CIRCLE;
+        for (int empty = board.getEmptyBits(); empty != 0; empty &= empty - 1)
+            collectOngoing(board.with(Integer.numberOfTrailingZeros(empty), mark), next, positions);
+    }
+
+    private static BoardSnapshot transform(BoardSnapshot board, int[] symmetry) {
+        int bits = 0;
+        for (int i = 0; i < 9; i++) {
+            Mark mark = board.get(i / 3, i % 3);
+            if (mark != Mark.EMPTY)
+                bits |= BoardSnapshot.bitOf(symmetry[i], mark);
+        }
+        return new BoardSnapshot(bits);
+    }
+}
@@ -0,0 +1,123 @@
+package tictactoe;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Search regression tests: a fixed corpus of positions is searched at each
+ * GameLevel, checking the best move, its score and the number of positions
+ * visited against golden values.
+ * Unlike timings, node counts are deterministic on any machine, so a loss of
+ * pruning efficiency fails the build once it exceeds NODE_TOLERANCE. After an
+ * intended change of the search, print the new values by running this class
+ * (main) with the test classpath.
+ */
+public class SearchRegressionTest {
+    /* Allowed growth of the node count over the golden value */
+    private static final double NODE_TOLERANCE = 0.10;
+
+    /* position (circle plays first), level, best move row, column, score, nodes */
+    private static final Object[][] CORPUS = {
+            { ".........", GameLevel.EASY, 0, 0, 0, 618 },
+            { ".........", GameLevel.MEDIUM, 0, 0, 0, 2728 },
+            { ".........", GameLevel.HARD, 0, 0, 0, 7986 },
+            { "O........", GameLevel.EASY, 0, 1, 0, 739 },
+            { "O........", GameLevel.MEDIUM, 1, 1, 0, 1371 },
+            { "O........", GameLevel.HARD, 1, 1, 0, 1765 },
+            { "....O....", GameLevel.EASY, 0, 0, 0, 879 },
+            { "....O....", GameLevel.MEDIUM, 0, 0, 0, 1927 },
+            { "....O....", GameLevel.HARD, 0, 0, 0, 2326 },
+            { "O...X....", GameLevel.EASY, 0, 1, 0, 396 },
+            { "O...X....", GameLevel.MEDIUM, 0, 1, 0, 819 },
+            { "O...X....", GameLevel.HARD, 0, 1, 0, 874 },
+            { "O...X...O", GameLevel.EASY, 0, 1, 0, 233 },
+            { "O...X...O", GameLevel.MEDIUM, 0, 1, 0, 306 },
+            { "O...X...O", GameLevel.HARD, 0, 1, 0, 306 },
+            { "OO..X....", GameLevel.EASY, 0, 2, 0, 121 },
+            { "OO..X....", GameLevel.MEDIUM, 0, 2, 0, 156 },
+            { "OO..X....", GameLevel.HARD, 0, 2, 0, 156 },
+            { "OX..O....", GameLevel.EASY, 0, 2, -1, 182 },
+            { "OX..O....", GameLevel.MEDIUM, 0, 2, -1, 251 },
+            { "OX..O....", GameLevel.HARD, 0, 2, -1, 251 },
+            { "O.X.X..O.", GameLevel.EASY, 2, 0, 1, 101 },
+            { "O.X.X..O.", GameLevel.MEDIUM, 2, 0, 1, 112 },
+            { "O.X.X..O.", GameLevel.HARD, 2, 0, 1, 112 },
+            { "XO.OX....", GameLevel.EASY, 2, 2, 0, 105 },
+            { "XO.OX....", GameLevel.MEDIUM, 2, 2, 0, 118 },
+            { "XO.OX....", GameLevel.HARD, 2, 2, 0, 118 },
+            { "OXO.X.XO.", GameLevel.EASY, 1, 0, 0, 15 },
+            { "OXO.X.XO.", GameLevel.MEDIUM, 1, 0, 0, 15 },
+            { "OXO.X.XO.", GameLevel.HARD, 1, 0, 0, 15 },
+            { "O.X...X.O", GameLevel.EASY, 1, 1, 1, 64 },
+            { "O.X...X.O", GameLevel.MEDIUM, 1, 1, 1, 70 },
+            { "O.X...X.O", GameLevel.HARD, 1, 1, 1, 70 },
+    };
+
+    @Test public void bestMovesAndScoresMatchGoldenValues() {
+        for (Object[] golden : CORPUS) {
+            ComputerPlayer player = createPlayer(golden);
+            BoardSnapshot board = BoardSnapshot.parse((String) golden[0]);
+            Move move = player.getMove(board);
+            String name = describe(golden);
+            assertEquals(name + " best move row", golden[2], move.row);
+            assertEquals(name + " best move column", golden[3], move.column);
+            assertEquals(name + " score", golden[4], player.scoreMoves(board)[move.toIndex()]);
+        }
+    }
+
+    @Test public void nodeCountsWithinTolerance() {
+        for (Object[] golden : CORPUS) {
+            ComputerPlayer player = createPlayer(golden);
+            player.getMove(BoardSnapshot.parse((String) golden[0]));
+            long limit = (long) ((Integer) golden[5] * (1 + NODE_TOLERANCE));
+            assertTrue(String.format("%s visited %d nodes, golden %d (limit %d)", describe(golden),
+                    player.getNodeCount(), golden[5], limit), player.getNodeCount() <= limit);
+        }
+    }
+
+    @Test public void nodeCountsAreDeterministic() {
+        for (Object[] golden : CORPUS) {
+            ComputerPlayer first = createPlayer(golden);
+            ComputerPlayer second = createPlayer(golden);
+            first.getMove(BoardSnapshot.parse((String) golden[0]));
+            second.getMove(BoardSnapshot.parse((String) golden[0]));
+            assertEquals(describe(golden), first.getNodeCount(), second.getNodeCount());
+        }
+    }
+
+    /** Print the current values in the format of CORPUS, to update the golden values */
+    public static void main(String[] args) {
+        for (Object[] golden : CORPUS) {
+            ComputerPlayer player = createPlayer(golden);
+            BoardSnapshot board = BoardSnapshot.parse((String) golden[0]);
+            Move move = player.getMove(board);
+            long nodes = player.getNodeCount();
+            int score = player.scoreMoves(board)[move.toIndex()];
+            System.out.printf("{ \"%s\", GameLevel.%s, %d, %d, %d, %d },%n", golden[0], levelName(golden),
+                    move.row, move.column, score, nodes);
+        }
+    }
+
+    /* Create a player with a private table and no shared cache, so that it's deterministic */
+    private static ComputerPlayer createPlayer(Object[] golden) {
+        BoardSnapshot board = BoardSnapshot.parse((String) golden[0]);
+        Mark mark = board.getMoveCount() % 2 == 0 ? Mark.CIRCLE : Mark.CROSS;
+        ComputerPlayer player = new ComputerPlayer(mark, (GameLevel) golden[1]);
+        player.setTranspositionTable(new TranspositionTable(1 << 12));
+        player.setResultCache(null);
+        return player;
+    }
+
+    private static String describe(Object[] golden) {
+        return String.format("%s at %s", golden[0], levelName(golden));
+    }
+
+    /* Return the name of the level constant, e.g. EASY */
+    private static String levelName(Object[] golden) {
+        for (String level : GameLevel.LEVELS) {
+            if (GameLevel.createGameLevel(level) == golden[1])
+                return level.toUpperCase();
+        }
+        return "depth " + ((GameLevel) golden[1]).depth;
+    }
+}
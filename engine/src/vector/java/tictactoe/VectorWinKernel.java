@@ -0,0 +1,41 @@
+package tictactoe;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vectorized kernel of BatchWinDetector: every lane holds a position and is
+ * tested against all winning lines at once.
+ * Kept in its own source set, the only one compiled with the incubating module,
+ * and loaded by BatchWinDetector when the module is available.
+ */
+final class VectorWinKernel implements BatchWinDetector.Kernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void detect(int[] positions, int[] results, int count) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(count); i < bound; i += SPECIES.length()) {
+            IntVector position = IntVector.fromArray(SPECIES, positions, i);
+            IntVector circles = position.and(BoardSnapshot.FULL);
+            IntVector crosses = position.lanewise(VectorOperators.LSHR, 9);
+            VectorMask<Integer> circleWins = SPECIES.maskAll(false);
+            VectorMask<Integer> crossWins = SPECIES.maskAll(false);
+            for (int line : BoardSnapshot.WIN_MASKS) {
+                circleWins = circleWins.or(circles.and(line).eq(line));
+                crossWins = crossWins.or(crosses.and(line).eq(line));
+            }
+            VectorMask<Integer> full = circles.or(crosses).eq(BoardSnapshot.FULL);
+            // later blends take precedence, same order as the scalar version
+            IntVector.zero(SPECIES)
+                    .blend(BatchWinDetector.DRAW, full)
+                    .blend(BatchWinDetector.CROSS_WINS, crossWins)
+                    .blend(BatchWinDetector.CIRCLE_WINS, circleWins)
+                    .intoArray(results, i);
+        }
+        // remaining positions that don't fill a vector
+        BatchWinDetector.detectScalar(positions, results, i, count);
+    }
+}